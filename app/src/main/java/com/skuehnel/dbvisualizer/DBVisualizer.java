@@ -1,13 +1,25 @@
 package com.skuehnel.dbvisualizer;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import com.skuehnel.dbvisualizer.cache.ModelCache;
+import com.skuehnel.dbvisualizer.cache.RenderCache;
+import com.skuehnel.dbvisualizer.domain.ColumnarModel;
 import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
 import com.skuehnel.dbvisualizer.report.ReportGenerator;
 import com.skuehnel.dbvisualizer.report.ReportGeneratorFactory;
 import com.skuehnel.dbvisualizer.util.MissingMandatoryException;
@@ -24,12 +36,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.skuehnel.dbvisualizer.retrieve.ConnectionException;
-import com.skuehnel.dbvisualizer.retrieve.JDBCConnection;
 import com.skuehnel.dbvisualizer.retrieve.ERModelRetriever;
+import com.skuehnel.dbvisualizer.retrieve.IncrementalModelRetriever;
+import com.skuehnel.dbvisualizer.retrieve.JDBCConnection;
+import com.skuehnel.dbvisualizer.retrieve.MetadataStatistics;
+import com.skuehnel.dbvisualizer.retrieve.ModelRetriever;
+import com.skuehnel.dbvisualizer.retrieve.ModelRetrieverFactory;
 import com.skuehnel.dbvisualizer.util.DB_DIALECT;
 import com.skuehnel.dbvisualizer.util.FORMAT;
 import com.skuehnel.dbvisualizer.util.REPORT_FORMAT;
+import com.skuehnel.dbvisualizer.util.RETRIEVAL_MODE;
+import com.skuehnel.dbvisualizer.util.RETRIEVAL_PROFILE;
 import com.skuehnel.dbvisualizer.util.OPTS;
+import com.skuehnel.dbvisualizer.visualize.PartitionedDiagram;
+import com.skuehnel.dbvisualizer.visualize.StreamingVisualizer;
 import com.skuehnel.dbvisualizer.visualize.Visualizer;
 
 /**
@@ -43,6 +63,8 @@ public class DBVisualizer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DBVisualizer.class);
 
+    private static final String METADATA_STATISTICS_SUFFIX = ".metadata-stats.json";
+
 
     public static class DBVisualizerBuilder {
 
@@ -154,6 +176,130 @@ public class DBVisualizer {
             return this;
         }
 
+        public DBVisualizerBuilder withRetrievalMode(String retrievalMode) {
+            if (StringUtils.isNotEmpty(retrievalMode)) {
+                RETRIEVAL_MODE retrieval_mode = RETRIEVAL_MODE.valueOf(retrievalMode.toUpperCase());
+                LOGGER.info("Retrieval mode {}", retrieval_mode);
+                instance.setRetrievalMode(retrieval_mode);
+            } else {
+                LOGGER.warn("Ignoring empty retrieval mode");
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withParallelism(int parallelism) {
+            if (parallelism > 0) {
+                instance.setParallelism(parallelism);
+            } else {
+                LOGGER.warn("Ignoring parallelism {}", parallelism);
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withCacheDirectory(String cacheDirectory) {
+            if (StringUtils.isNotEmpty(cacheDirectory)) {
+                instance.setCacheDirectory(cacheDirectory);
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withCacheTimeToLive(long cacheTimeToLive) {
+            if (cacheTimeToLive >= 0) {
+                instance.setCacheTimeToLive(cacheTimeToLive);
+            } else {
+                LOGGER.warn("Ignoring cache time to live {}", cacheTimeToLive);
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withForceRefresh(boolean forceRefresh) {
+            instance.setForceRefresh(forceRefresh);
+            return this;
+        }
+
+        public DBVisualizerBuilder withIncludeSystemSchemas(boolean includeSystemSchemas) {
+            instance.setIncludeSystemSchemas(includeSystemSchemas);
+            return this;
+        }
+
+        public DBVisualizerBuilder withSeedTables(String seedTables) {
+            if (StringUtils.isNotEmpty(seedTables)) {
+                instance.setSeedTables(parseSeedTables(seedTables));
+                LOGGER.info("Seed tables: {}", instance.getSeedTables());
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withCrawlDepth(int crawlDepth) {
+            if (crawlDepth >= 0) {
+                instance.setCrawlDepth(crawlDepth);
+            } else {
+                LOGGER.warn("Ignoring crawl depth {}", crawlDepth);
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withFollowExportedKeys(boolean followExportedKeys) {
+            instance.setFollowExportedKeys(followExportedKeys);
+            return this;
+        }
+
+        public DBVisualizerBuilder withMetadataStatistics(boolean metadataStatistics) {
+            instance.setMetadataStatistics(metadataStatistics);
+            return this;
+        }
+
+        public DBVisualizerBuilder withRenderThreads(int renderThreads) {
+            if (renderThreads > 0) {
+                instance.setRenderThreads(renderThreads);
+            } else {
+                LOGGER.warn("Ignoring number of render threads {}", renderThreads);
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withRenderCacheDirectory(String renderCacheDirectory) {
+            instance.setRenderCacheDirectory(renderCacheDirectory);
+            return this;
+        }
+
+        public DBVisualizerBuilder withRenderCacheSize(long renderCacheSize) {
+            if (renderCacheSize > 0) {
+                instance.setRenderCacheSize(renderCacheSize);
+            } else {
+                LOGGER.warn("Ignoring render cache size {}", renderCacheSize);
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withPartitionSize(int partitionSize) {
+            if (partitionSize >= 0) {
+                instance.setPartitionSize(partitionSize);
+            } else {
+                LOGGER.warn("Ignoring partition size {}", partitionSize);
+            }
+            return this;
+        }
+
+        public DBVisualizerBuilder withCompactModel(boolean compactModel) {
+            instance.setCompactModel(compactModel);
+            return this;
+        }
+
+        public DBVisualizerBuilder withStreaming(boolean streaming) {
+            instance.setStreaming(streaming);
+            return this;
+        }
+
+        public DBVisualizerBuilder withRetrievalTimeout(int retrievalTimeout) {
+            if (retrievalTimeout >= 0) {
+                instance.setRetrievalTimeout(retrievalTimeout);
+            } else {
+                LOGGER.warn("Ignoring retrieval timeout {}", retrievalTimeout);
+            }
+            return this;
+        }
+
         public DBVisualizer build() {
             return instance;
         }
@@ -177,6 +323,23 @@ public class DBVisualizer {
     private String reportFile;
     private REPORT_FORMAT reportFormat = REPORT_FORMAT.HTML;
     private boolean reportMeta = false;
+    private RETRIEVAL_MODE retrievalMode = RETRIEVAL_MODE.PER_TABLE;
+    private int parallelism = 4;
+    private int retrievalTimeout = 0;
+    private boolean includeSystemSchemas = false;
+    private String cacheDirectory;
+    private long cacheTimeToLive = 1440;
+    private boolean forceRefresh = false;
+    private List<String> seedTables;
+    private int crawlDepth = 1;
+    private boolean followExportedKeys = false;
+    private boolean streaming = false;
+    private boolean metadataStatistics = false;
+    private boolean compactModel = false;
+    private int renderThreads = 1;
+    private String renderCacheDirectory;
+    private long renderCacheSize = 100;
+    private int partitionSize = 0;
 
     /**
      * Getter for attribute outputFileName
@@ -466,6 +629,312 @@ public class DBVisualizer {
         this.reportMeta = reportMeta;
     }
 
+    /**
+     * Getter for attribute retrievalMode
+     *
+     * @return current value of field retrievalMode
+     */
+    public RETRIEVAL_MODE getRetrievalMode() {
+        return retrievalMode;
+    }
+
+    /**
+     * Setter for field retrievalMode
+     *
+     * @param retrievalMode new value
+     */
+    public void setRetrievalMode(RETRIEVAL_MODE retrievalMode) {
+        this.retrievalMode = retrievalMode;
+    }
+
+    /**
+     * Getter for attribute parallelism
+     *
+     * @return current value of field parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Setter for field parallelism
+     *
+     * @param parallelism new value
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Getter for attribute retrievalTimeout
+     *
+     * @return current value of field retrievalTimeout (seconds, 0 means no limit)
+     */
+    public int getRetrievalTimeout() {
+        return retrievalTimeout;
+    }
+
+    /**
+     * Setter for field retrievalTimeout
+     *
+     * @param retrievalTimeout new value (seconds, 0 means no limit)
+     */
+    public void setRetrievalTimeout(int retrievalTimeout) {
+        this.retrievalTimeout = retrievalTimeout;
+    }
+
+    /**
+     * Getter for attribute includeSystemSchemas
+     *
+     * @return current value of field includeSystemSchemas
+     */
+    public boolean isIncludeSystemSchemas() {
+        return includeSystemSchemas;
+    }
+
+    /**
+     * Setter for field includeSystemSchemas
+     *
+     * @param includeSystemSchemas new value
+     */
+    public void setIncludeSystemSchemas(boolean includeSystemSchemas) {
+        this.includeSystemSchemas = includeSystemSchemas;
+    }
+
+    /**
+     * Getter for attribute cacheDirectory
+     *
+     * @return current value of field cacheDirectory
+     */
+    public String getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * Setter for field cacheDirectory
+     *
+     * @param cacheDirectory new value
+     */
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    /**
+     * Getter for attribute cacheTimeToLive
+     *
+     * @return current value of field cacheTimeToLive (minutes, 0 means no expiry)
+     */
+    public long getCacheTimeToLive() {
+        return cacheTimeToLive;
+    }
+
+    /**
+     * Setter for field cacheTimeToLive
+     *
+     * @param cacheTimeToLive new value (minutes, 0 means no expiry)
+     */
+    public void setCacheTimeToLive(long cacheTimeToLive) {
+        this.cacheTimeToLive = cacheTimeToLive;
+    }
+
+    /**
+     * Getter for attribute forceRefresh
+     *
+     * @return current value of field forceRefresh
+     */
+    public boolean isForceRefresh() {
+        return forceRefresh;
+    }
+
+    /**
+     * Setter for field forceRefresh
+     *
+     * @param forceRefresh new value
+     */
+    public void setForceRefresh(boolean forceRefresh) {
+        this.forceRefresh = forceRefresh;
+    }
+
+    /**
+     * Getter for attribute seedTables
+     *
+     * @return current value of field seedTables
+     */
+    public List<String> getSeedTables() {
+        return seedTables;
+    }
+
+    /**
+     * Setter for field seedTables
+     *
+     * @param seedTables new value
+     */
+    public void setSeedTables(List<String> seedTables) {
+        this.seedTables = seedTables;
+    }
+
+    /**
+     * Getter for attribute crawlDepth
+     *
+     * @return current value of field crawlDepth
+     */
+    public int getCrawlDepth() {
+        return crawlDepth;
+    }
+
+    /**
+     * Setter for field crawlDepth
+     *
+     * @param crawlDepth new value
+     */
+    public void setCrawlDepth(int crawlDepth) {
+        this.crawlDepth = crawlDepth;
+    }
+
+    /**
+     * Getter for attribute followExportedKeys
+     *
+     * @return current value of field followExportedKeys
+     */
+    public boolean isFollowExportedKeys() {
+        return followExportedKeys;
+    }
+
+    /**
+     * Setter for field followExportedKeys
+     *
+     * @param followExportedKeys new value
+     */
+    public void setFollowExportedKeys(boolean followExportedKeys) {
+        this.followExportedKeys = followExportedKeys;
+    }
+
+    /**
+     * Getter for attribute streaming
+     *
+     * @return current value of field streaming
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Setter for field streaming
+     *
+     * @param streaming new value
+     */
+    public void setStreaming(boolean streaming) {
+        this.streaming = streaming;
+    }
+
+    /**
+     * Getter for attribute metadataStatistics
+     *
+     * @return current value of field metadataStatistics
+     */
+    public boolean isMetadataStatistics() {
+        return metadataStatistics;
+    }
+
+    /**
+     * Setter for field metadataStatistics
+     *
+     * @param metadataStatistics new value
+     */
+    public void setMetadataStatistics(boolean metadataStatistics) {
+        this.metadataStatistics = metadataStatistics;
+    }
+
+    /**
+     * Getter for attribute compactModel
+     *
+     * @return current value of field compactModel
+     */
+    public boolean isCompactModel() {
+        return compactModel;
+    }
+
+    /**
+     * Setter for field compactModel
+     *
+     * @param compactModel new value
+     */
+    public void setCompactModel(boolean compactModel) {
+        this.compactModel = compactModel;
+    }
+
+    /**
+     * Getter for attribute renderThreads
+     *
+     * @return current value of field renderThreads
+     */
+    public int getRenderThreads() {
+        return renderThreads;
+    }
+
+    /**
+     * Setter for field renderThreads
+     *
+     * @param renderThreads new value
+     */
+    public void setRenderThreads(int renderThreads) {
+        this.renderThreads = renderThreads;
+    }
+
+    /**
+     * Getter for attribute renderCacheDirectory
+     *
+     * @return current value of field renderCacheDirectory
+     */
+    public String getRenderCacheDirectory() {
+        return renderCacheDirectory;
+    }
+
+    /**
+     * Setter for field renderCacheDirectory
+     *
+     * @param renderCacheDirectory new value
+     */
+    public void setRenderCacheDirectory(String renderCacheDirectory) {
+        this.renderCacheDirectory = renderCacheDirectory;
+    }
+
+    /**
+     * Getter for attribute renderCacheSize
+     *
+     * @return current value of field renderCacheSize (MB)
+     */
+    public long getRenderCacheSize() {
+        return renderCacheSize;
+    }
+
+    /**
+     * Setter for field renderCacheSize
+     *
+     * @param renderCacheSize new value (MB)
+     */
+    public void setRenderCacheSize(long renderCacheSize) {
+        this.renderCacheSize = renderCacheSize;
+    }
+
+    /**
+     * Getter for attribute partitionSize
+     *
+     * @return current value of field partitionSize (maximum number of tables per diagram, 0 means no partitioning)
+     */
+    public int getPartitionSize() {
+        return partitionSize;
+    }
+
+    /**
+     * Setter for field partitionSize
+     *
+     * @param partitionSize new value (maximum number of tables per diagram, 0 means no partitioning)
+     */
+    public void setPartitionSize(int partitionSize) {
+        this.partitionSize = partitionSize;
+    }
+
     /**
      * Getter for attribute configFile
      *
@@ -507,16 +976,57 @@ public class DBVisualizer {
     }
 
     public void execute() throws ConnectionException, SQLException, IOException {
-        LOGGER.debug("Initializing connection to DB with driver '{}', driver path {}, url '{}' and user '{}'.", jdbcDriver, jdbcDriverPath != null ? jdbcDriverPath : "n/a", jdbcUrl, databaseUser);
-        JDBCConnection jdbcConnection = new JDBCConnection(jdbcDriver, jdbcDriverPath, jdbcUrl, databaseUser, databasePassword);
-        ERModelRetriever retrievER = new ERModelRetriever(jdbcConnection.getConnection(), dbDialect);
-        retrievER.setFilter(filter);
-        Model model = retrievER.getModel(catalog, schema);
-        model.setJdbcURL(jdbcUrl);
-        model.setFilterInfo(filter != null ? filter.toString() : null);
-        Visualizer visualizer = new Visualizer(model.getTableList());
+        Model model = null;
+        Model previousModel = null;
+        ModelCache modelCache = null;
+        String cacheKey = null;
+        // diagrams with entities only do not need the columns; a report does
+        RETRIEVAL_PROFILE retrievalProfile = entitiesOnly && reportFile == null ? RETRIEVAL_PROFILE.ENTITIES
+                : RETRIEVAL_PROFILE.FULL;
+        if (cacheDirectory != null) {
+            modelCache = new ModelCache(Paths.get(cacheDirectory), cacheTimeToLive);
+            // the catalog retrievers name the tables and types differently than the metadata based retrievers
+            cacheKey = ModelCache.createKey(jdbcUrl, databaseUser, catalog, schema,
+                    filter != null ? filter.toString() : null, String.valueOf(includeSystemSchemas),
+                    seedTables != null ? String.join(",", seedTables) : null, String.valueOf(crawlDepth),
+                    String.valueOf(followExportedKeys), retrievalProfile.name(), dbDialect.name(),
+                    retrievalMode == RETRIEVAL_MODE.CATALOG ? RETRIEVAL_MODE.CATALOG.name() : "METADATA");
+            if (forceRefresh) {
+                LOGGER.info("Ignoring snapshots of the model.");
+            } else if (retrievalMode == RETRIEVAL_MODE.INCREMENTAL) {
+                previousModel = modelCache.loadLatest(cacheKey);
+            } else {
+                model = modelCache.load(cacheKey);
+            }
+        } else if (retrievalMode == RETRIEVAL_MODE.INCREMENTAL) {
+            LOGGER.warn("Retrieval mode {} requires a cache directory; retrieving all tables.", retrievalMode);
+        }
+        Visualizer visualizer = new Visualizer(new ArrayList<>());
         visualizer.setLrEnabled(lROption);
         visualizer.setEntitiesOnly(entitiesOnly);
+        visualizer.setParallelism(renderThreads);
+        boolean diagramWritten = false;
+        if (model == null) {
+            if (streaming && partitionSize == 0 && outputFileName != null
+                    && (outputFormat == FORMAT.DOT || outputFormat == FORMAT.PLANT)) {
+                model = retrieveAndWriteDiagram(previousModel, retrievalProfile, visualizer);
+                diagramWritten = true;
+            } else {
+                if (streaming && partitionSize > 0) {
+                    LOGGER.warn("Streaming is not supported for partitioned diagrams.");
+                } else if (streaming) {
+                    LOGGER.warn("Streaming is only supported for the formats DOT and PLANT.");
+                }
+                model = retrieveModel(previousModel, retrievalProfile, null);
+            }
+            if (modelCache != null) {
+                modelCache.store(cacheKey, model);
+            }
+        }
+        if (compactModel) {
+            model = ColumnarModel.compact(model);
+        }
+        visualizer.setTables(model.getTableList());
         // Create an additional report
         if (reportFile != null) {
             ReportGenerator reportGenerator = ReportGeneratorFactory.createReportGeneratorInstance(reportFormat.toString());
@@ -525,11 +1035,38 @@ public class DBVisualizer {
             }
             reportGenerator.generateReport(reportFile, model, reportMeta ? ReportGenerator.REPORT_OPT.WITH_META_INFORMATION : null);
         }
+        if (diagramWritten) {
+            LOGGER.info("Diagram {} has been written during the retrieval.", outputFileName);
+        } else if (partitionSize > 0) {
+            PartitionedDiagram partitionedDiagram = visualizer.partition(partitionSize);
+            LOGGER.info("Split the diagram of {} tables into {} partitions.", model.getTableList().size(),
+                    partitionedDiagram.size());
+            writeDiagram(getPartitionFileName("overview"),
+                    out -> partitionedDiagram.writeOverview(FORMAT.DOT, out),
+                    out -> partitionedDiagram.writeOverview(FORMAT.PLANT, out));
+            for (int i = 0; i < partitionedDiagram.size(); i++) {
+                Visualizer partitionVisualizer = partitionedDiagram.getVisualizer(i);
+                writeDiagram(getPartitionFileName(String.valueOf(i + 1)), partitionVisualizer::writeDotRepresentation,
+                        partitionVisualizer::writePlantRepresentation);
+            }
+        } else {
+            writeDiagram(outputFileName, visualizer::writeDotRepresentation, visualizer::writePlantRepresentation);
+        }
+    }
+
+    /**
+     * Write a diagram in the output format
+     *
+     * @param fileName name of the file
+     * @param dot      writes the diagram in dot language
+     * @param plant    writes the diagram in PlantUML notation (also used for PNG, SVG and PDF)
+     */
+    private void writeDiagram(String fileName, OutputWriter.Content dot, OutputWriter.Content plant) throws IOException {
         if (outputFormat.equals(FORMAT.DOT)) {
-            OutputWriter writer = new OutputWriter(outputFileName, visualizer.getDotRepresentation());
+            OutputWriter writer = new OutputWriter(fileName, dot);
             writer.write();
         } else if (outputFormat.equals(FORMAT.PLANT)) {
-            OutputWriter writer = new OutputWriter(outputFileName, visualizer.getPlantRepresentation());
+            OutputWriter writer = new OutputWriter(fileName, plant);
             writer.write();
         } else if (outputFormat.equals(FORMAT.PNG) || outputFormat.equals(FORMAT.SVG) || outputFormat.equals(FORMAT.PDF)) {
             FileFormatOption fileFormatOption = null;
@@ -551,15 +1088,46 @@ public class DBVisualizer {
                     break;
             }
             if (fileFormatOption != null) {
-                String plantString = visualizer.getPlantRepresentation();
-                SourceStringReader sourceStringReader = new SourceStringReader(plantString);
-                OutputStream outStream = new FileOutputStream(outputFileName);
-                String description = sourceStringReader.outputImage(outStream, fileFormatOption).getDescription();
-                LOGGER.info("Description of output image: {}", description);
+                StringWriter plantString = new StringWriter();
+                plant.writeTo(plantString);
+                renderImage(plantString.toString(), fileFormatOption, fileName);
             }
         }
     }
 
+    /**
+     * Name of the file of a partition: the suffix is inserted before the extension of the output file,
+     * e.g. diagram_1.png
+     */
+    private String getPartitionFileName(String suffix) {
+        int extension = outputFileName.lastIndexOf('.');
+        if (extension <= Math.max(outputFileName.lastIndexOf('/'), outputFileName.lastIndexOf(File.separatorChar))) {
+            return outputFileName + "_" + suffix;
+        }
+        return outputFileName.substring(0, extension) + "_" + suffix + outputFileName.substring(extension);
+    }
+
+    private void renderImage(String plantString, FileFormatOption fileFormatOption, String fileName) throws IOException {
+        RenderCache renderCache = null;
+        String renderKey = null;
+        if (renderCacheDirectory != null) {
+            renderCache = new RenderCache(Paths.get(renderCacheDirectory), renderCacheSize * 1024L * 1024L);
+            renderKey = RenderCache.createKey(plantString, outputFormat.name(),
+                    SourceStringReader.class.getPackage().getImplementationVersion());
+            if (renderCache.copyTo(renderKey, Paths.get(fileName))) {
+                return;
+            }
+        }
+        SourceStringReader sourceStringReader = new SourceStringReader(plantString);
+        try (OutputStream outStream = new FileOutputStream(fileName)) {
+            String description = sourceStringReader.outputImage(outStream, fileFormatOption).getDescription();
+            LOGGER.info("Description of output image: {}", description);
+        }
+        if (renderCache != null) {
+            renderCache.store(renderKey, Paths.get(fileName));
+        }
+    }
+
     void assignCommandLineOptionsAndConfigurationValues(CommandLine commandLine) throws MissingMandatoryException {
         List<Option> optionList = List.of(commandLine.getOptions());
 
@@ -659,8 +1227,168 @@ public class DBVisualizer {
                 case OPT_SCHEMA_NAME:
                     schema = getValueFromPropertiesOrCli(option, properties, optionList);
                     break;
+                case OPT_RETRIEVAL_MODE:
+                    String retrievalModeString = getValueFromPropertiesOrCli(option, properties, optionList);
+                    if (StringUtils.isNotEmpty(retrievalModeString)) {
+                        try {
+                            retrievalMode = RETRIEVAL_MODE.valueOf(retrievalModeString.toUpperCase());
+                            LOGGER.info("Using retrieval mode {}.", retrievalMode);
+                        } catch (IllegalArgumentException illegalArgumentException) {
+                            LOGGER.error(String.format("Unsupported retrieval mode '%s'.", retrievalModeString),
+                                    illegalArgumentException);
+                            System.exit(1);
+                        }
+                    }
+                    break;
+                case OPT_PARALLELISM:
+                    parallelism = (int) getNumberFromPropertiesOrCli(option, properties, optionList, 1, Integer.MAX_VALUE, parallelism);
+                    break;
+                case OPT_RENDER_THREADS:
+                    renderThreads = (int) getNumberFromPropertiesOrCli(option, properties, optionList, 1, Integer.MAX_VALUE, renderThreads);
+                    break;
+                case OPT_RENDER_CACHE_DIR:
+                    renderCacheDirectory = getValueFromPropertiesOrCli(option, properties, optionList);
+                    break;
+                case OPT_RENDER_CACHE_SIZE:
+                    // in MB; the size in bytes has to fit into a long
+                    renderCacheSize = getNumberFromPropertiesOrCli(option, properties, optionList, 1, Long.MAX_VALUE >> 20, renderCacheSize);
+                    break;
+                case OPT_PARTITION_SIZE:
+                    partitionSize = (int) getNumberFromPropertiesOrCli(option, properties, optionList, 1, Integer.MAX_VALUE, partitionSize);
+                    break;
+                case OPT_CACHE_DIR:
+                    cacheDirectory = getValueFromPropertiesOrCli(option, properties, optionList);
+                    break;
+                case OPT_CACHE_TTL:
+                    cacheTimeToLive = getNumberFromPropertiesOrCli(option, properties, optionList, 0, Long.MAX_VALUE, cacheTimeToLive);
+                    break;
+                case OPT_FORCE_REFRESH:
+                    forceRefresh = getBooleanValueFromPropertiesOrCli(option, properties, optionList);
+                    break;
+                case OPT_INCLUDE_SYSTEM_SCHEMAS:
+                    includeSystemSchemas = getBooleanValueFromPropertiesOrCli(option, properties, optionList);
+                    break;
+                case OPT_SEED_TABLES:
+                    String seedTablesString = getValueFromPropertiesOrCli(option, properties, optionList);
+                    if (StringUtils.isNotEmpty(seedTablesString)) {
+                        seedTables = parseSeedTables(seedTablesString);
+                    }
+                    break;
+                case OPT_CRAWL_DEPTH:
+                    crawlDepth = (int) getNumberFromPropertiesOrCli(option, properties, optionList, 0, Integer.MAX_VALUE, crawlDepth);
+                    break;
+                case OPT_METADATA_STATISTICS:
+                    metadataStatistics = getBooleanValueFromPropertiesOrCli(option, properties, optionList);
+                    break;
+                case OPT_COMPACT_MODEL:
+                    compactModel = getBooleanValueFromPropertiesOrCli(option, properties, optionList);
+                    break;
+                case OPT_STREAMING:
+                    streaming = getBooleanValueFromPropertiesOrCli(option, properties, optionList);
+                    break;
+                case OPT_FOLLOW_EXPORTED_KEYS:
+                    followExportedKeys = getBooleanValueFromPropertiesOrCli(option, properties, optionList);
+                    break;
+                case OPT_RETRIEVAL_TIMEOUT:
+                    retrievalTimeout = (int) getNumberFromPropertiesOrCli(option, properties, optionList, 0, Integer.MAX_VALUE, retrievalTimeout);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Retrieve the model and write the diagram at the same time: the retriever publishes each table
+     * to a bounded {@link SubmissionPublisher}, whose subscriber writes the nodes; the relations are written
+     * when the retrieval has finished. If the subscriber falls behind, the retrieval is blocked.
+     * If the retrieval or the writing fails, the partly written diagram is deleted.
+     */
+    private Model retrieveAndWriteDiagram(Model previousModel, RETRIEVAL_PROFILE retrievalProfile, Visualizer visualizer)
+            throws ConnectionException, SQLException, IOException {
+        LOGGER.info("Writing {} during the retrieval.", outputFileName);
+        try {
+            try (Writer writer = new BufferedWriter(new FileWriter(outputFileName));
+                 ExecutorService executor = Executors.newSingleThreadExecutor()) {
+                SubmissionPublisher<Table> publisher = new SubmissionPublisher<>(executor, Flow.defaultBufferSize());
+                StreamingVisualizer streamingVisualizer = new StreamingVisualizer(visualizer, outputFormat, writer);
+                publisher.subscribe(streamingVisualizer);
+                Model model;
+                try {
+                    model = retrieveModel(previousModel, retrievalProfile, publisher::submit);
+                } catch (ConnectionException | SQLException | RuntimeException e) {
+                    publisher.closeExceptionally(e);
+                    throw e;
+                }
+                // completes the subscriber once all published tables have been written
+                publisher.close();
+                streamingVisualizer.finish(model.getTableList());
+                return model;
+            }
+        } catch (ConnectionException | SQLException | IOException | RuntimeException e) {
+            // do not leave a truncated diagram behind
+            Files.deleteIfExists(Paths.get(outputFileName));
+            throw e;
+        }
+    }
+
+    private Model retrieveModel(Model previousModel, RETRIEVAL_PROFILE retrievalProfile, Consumer<Table> tableConsumer)
+            throws ConnectionException, SQLException {
+        LOGGER.debug("Initializing connection to DB with driver '{}', driver path {}, url '{}' and user '{}'.", jdbcDriver, jdbcDriverPath != null ? jdbcDriverPath : "n/a", jdbcUrl, databaseUser);
+        JDBCConnection jdbcConnection = new JDBCConnection(jdbcDriver, jdbcDriverPath, jdbcUrl, databaseUser, databasePassword);
+        ModelRetriever retrievER = ModelRetrieverFactory.createModelRetrieverInstance(jdbcConnection, dbDialect, retrievalMode, parallelism, retrievalTimeout);
+        retrievER.setFilter(filter);
+        retrievER.setIncludeSystemSchemas(includeSystemSchemas);
+        if (retrievER instanceof IncrementalModelRetriever incrementalRetriever) {
+            incrementalRetriever.setPreviousModel(previousModel);
+        }
+        if (retrievER instanceof ERModelRetriever erModelRetriever) {
+            LOGGER.info("Retrieval profile {}.", retrievalProfile);
+            erModelRetriever.setRetrievalProfile(retrievalProfile);
+            erModelRetriever.setTableConsumer(tableConsumer);
+            if (seedTables != null) {
+                erModelRetriever.setSeedTables(seedTables);
+                erModelRetriever.setCrawlDepth(crawlDepth);
+                erModelRetriever.setFollowExportedKeys(followExportedKeys);
+            }
+        } else if (seedTables != null) {
+            LOGGER.warn("Retrieval mode {} does not support seed tables; retrieving all tables.", retrievalMode);
+        }
+        MetadataStatistics statistics = null;
+        if (metadataStatistics) {
+            statistics = new MetadataStatistics();
+            retrievER.setMetadataStatistics(statistics);
+        }
+        Model model;
+        try {
+            model = retrievER.getModel(catalog, schema);
+        } finally {
+            if (statistics != null) {
+                writeMetadataStatistics(statistics);
             }
         }
+        model.setJdbcURL(jdbcUrl);
+        model.setFilterInfo(filter != null ? filter.toString() : null);
+        return model;
+    }
+
+    private void writeMetadataStatistics(MetadataStatistics statistics) {
+        statistics.logSummary();
+        if (outputFileName != null) {
+            try {
+                statistics.writeJson(Paths.get(outputFileName + METADATA_STATISTICS_SUFFIX));
+            } catch (IOException e) {
+                LOGGER.warn("Could not write metadata call statistics. Reason: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static List<String> parseSeedTables(String seedTables) {
+        List<String> result = new ArrayList<>();
+        for (String seedTable : seedTables.split(",")) {
+            if (StringUtils.isNotBlank(seedTable)) {
+                result.add(seedTable.trim());
+            }
+        }
+        return result;
     }
 
     private Option getOptionFromList(OPTS opt, List<Option> optionList) {
@@ -694,6 +1422,37 @@ public class DBVisualizer {
         return value;
     }
 
+    /**
+     * Get the value of a numeric option
+     *
+     * @param opt          the option
+     * @param properties   the configuration (may be null)
+     * @param optList      the options set in CLI
+     * @param min          smallest valid value
+     * @param max          largest valid value
+     * @param defaultValue the value if the option is neither set in CLI nor in properties
+     * @return the value; if it is not a number in the valid range, an error is logged and the program exits
+     */
+    private long getNumberFromPropertiesOrCli(OPTS opt, Properties properties, List<Option> optList,
+                                              long min, long max, long defaultValue) {
+        String value = getValueFromPropertiesOrCli(opt, properties, optList);
+        if (StringUtils.isEmpty(value)) {
+            return defaultValue;
+        }
+        try {
+            long number = Long.parseLong(value.trim());
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException numberFormatException) {
+            LOGGER.debug("'{}' is not a number.", value);
+        }
+        LOGGER.error("Invalid value '{}' for option {}. A number between {} and {} is expected.",
+                value, opt.getOption().getLongOpt(), min, max);
+        System.exit(1);
+        return defaultValue;
+    }
+
     private boolean getBooleanValueFromPropertiesOrCli(OPTS opt, Properties properties, List<Option> optList) {
         Option option = getOptionFromList(opt, optList);
         if (option != null) {
@@ -4,13 +4,14 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /** 
  * Project DBVisualizer
- * Writes a String into a file
+ * Writes a String (or content which is written piece by piece) into a file
  * @author Stefan Kuehnel
  *
  */
@@ -18,15 +19,34 @@ public class OutputWriter {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(OutputWriter.class);
 	
+	/**
+	 * Content which writes itself, e.g. a diagram rendered table by table
+	 */
+	@FunctionalInterface
+	public interface Content {
+		void writeTo(Writer writer) throws IOException;
+	}
+
 	String fileName;
-	String content;
+	Content content;
 	
 	/**
 	 * Constructor
 	 */
 	public OutputWriter(String fileName,String content) {
 		this.fileName = fileName;
-		this.content = content;		
+		this.content = writer -> writer.write(content);
+	}
+
+	/**
+	 * Constructor for content which is written directly into the file, without building a String first
+	 *
+	 * @param fileName name of the file
+	 * @param content  writes the content, e.g. visualizer::writeDotRepresentation
+	 */
+	public OutputWriter(String fileName, Content content) {
+		this.fileName = fileName;
+		this.content = content;
 	}
 	
 	/**
@@ -36,10 +56,10 @@ public class OutputWriter {
 	public void write() throws IOException {
 		if (fileName != null) {
 			File f = new File(fileName);
-			BufferedWriter writer = new BufferedWriter(new FileWriter(f));
-			writer.write(content);
-			writer.flush();
-			writer.close();			
+			try (BufferedWriter writer = new BufferedWriter(new FileWriter(f))) {
+				content.writeTo(writer);
+				writer.flush();
+			}
 		} else {
 			LOGGER.error("No FileName. Will not write anything.");
 		}
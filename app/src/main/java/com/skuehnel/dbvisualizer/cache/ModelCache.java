@@ -0,0 +1,158 @@
+package com.skuehnel.dbvisualizer.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Model;
+
+/**
+ * Snapshots of retrieved models in a local directory.
+ * A snapshot is identified by a key which covers everything that determines the content of the model
+ * (see {@link #createKey(String...)}) and is used as long as it is younger than the time to live.
+ *
+ * @author Stefan Kuehnel
+ */
+public class ModelCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelCache.class);
+
+    private static final String SUFFIX = ".model.gz";
+
+    private static final ObjectInputFilter SNAPSHOT_FILTER = ObjectInputFilter.Config.createFilter(
+            "com.skuehnel.dbvisualizer.cache.ModelSnapshot*;java.util.ArrayList;java.util.HashMap;java.util.Map$Entry;java.lang.String;java.lang.Object;!*");
+
+    private final Path cacheDirectory;
+
+    private final long timeToLive;
+
+    /**
+     * Constructor
+     *
+     * @param cacheDirectory directory for the snapshots; it is created if it does not exist
+     * @param timeToLive     maximum age of a snapshot in minutes; 0 means that snapshots do not expire
+     */
+    public ModelCache(Path cacheDirectory, long timeToLive) {
+        this.cacheDirectory = cacheDirectory;
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * Create the key for a snapshot: the SHA-256 hash of the given values
+     *
+     * @param values values determining the content of the model, e.g. JDBC URL, catalog, schema and filter;
+     *               null values are allowed
+     * @return the key as hex string
+     */
+    public static String createKey(String... values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String value : values) {
+                // distinguish null from the empty string and keep the values apart
+                digest.update(value == null ? new byte[]{0} : ("\u0001" + value).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '|');
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+                hex.append(Character.forDigit(b & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * Load a snapshot
+     *
+     * @param key the key of the snapshot
+     * @return the model or null, if there is no snapshot, it is expired or it cannot be read
+     */
+    public Model load(String key) {
+        return read(key, true);
+    }
+
+    /**
+     * Load a snapshot, even if it is expired (e.g. as the starting point of an incremental refresh)
+     *
+     * @param key the key of the snapshot
+     * @return the model or null, if there is no snapshot or it cannot be read
+     */
+    public Model loadLatest(String key) {
+        return read(key, false);
+    }
+
+    private Model read(String key, boolean checkTimeToLive) {
+        Path file = getFile(key);
+        if (!Files.isRegularFile(file)) {
+            LOGGER.info("No snapshot of the model found in {}.", cacheDirectory);
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file);
+             ObjectInputStream objectInputStream = new ObjectInputStream(new GZIPInputStream(new BufferedInputStream(in)))) {
+            objectInputStream.setObjectInputFilter(SNAPSHOT_FILTER);
+            ModelSnapshot snapshot = (ModelSnapshot) objectInputStream.readObject();
+            long age = System.currentTimeMillis() - snapshot.getCreatedAt();
+            if (checkTimeToLive && timeToLive > 0 && age > timeToLive * 60_000L) {
+                LOGGER.info("Snapshot {} is expired.", file);
+                return null;
+            }
+            LOGGER.info("Using snapshot {} (created {} minutes ago).", file, age / 60_000L);
+            return snapshot.toModel();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            LOGGER.warn("Could not read snapshot {}. Reason: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Store a snapshot; an existing snapshot with the same key is replaced
+     *
+     * @param key   the key of the snapshot
+     * @param model the model
+     */
+    public void store(String key, Model model) {
+        Path file = getFile(key);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            tempFile = Files.createTempFile(cacheDirectory, key, ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile);
+                 ObjectOutputStream objectOutputStream = new ObjectOutputStream(new GZIPOutputStream(new BufferedOutputStream(out)))) {
+                objectOutputStream.writeObject(new ModelSnapshot(model, System.currentTimeMillis()));
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.info("Stored snapshot of the model in {}.", file);
+        } catch (IOException e) {
+            LOGGER.warn("Could not store snapshot {}. Reason: {}", file, e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException deleteException) {
+                    LOGGER.debug("Could not delete {}.", tempFile);
+                }
+            }
+        }
+    }
+
+    private Path getFile(String key) {
+        return cacheDirectory.resolve(key + SUFFIX);
+    }
+}
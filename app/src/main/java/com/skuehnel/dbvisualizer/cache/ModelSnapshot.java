@@ -0,0 +1,190 @@
+package com.skuehnel.dbvisualizer.cache;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+
+/**
+ * Serializable copy of a {@link Model}. The table graph is flattened: foreign keys refer to
+ * the referenced table by name, so that serialization does not have to follow (possibly long)
+ * chains of references, and the object identity of the tables is restored when the model is rebuilt.
+ *
+ * @author Stefan Kuehnel
+ */
+class ModelSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+
+    private final long createdAt;
+    private final String schemaName;
+    private final String catalogName;
+    private final String databaseName;
+    private final String databaseType;
+    private final String jdbcURL;
+    private final String filterInfo;
+    private final ArrayList<String> schemaNames;
+    private final HashMap<String, String> changeMarkers;
+    private final ArrayList<TableSnapshot> tables = new ArrayList<>();
+
+    /**
+     * Constructor
+     *
+     * @param model     the model
+     * @param createdAt creation time of the snapshot (milliseconds since the epoch)
+     */
+    ModelSnapshot(Model model, long createdAt) {
+        this.createdAt = createdAt;
+        schemaName = model.getSchemaName();
+        catalogName = model.getCatalogName();
+        databaseName = model.getDatabaseName();
+        databaseType = model.getDatabaseType();
+        jdbcURL = model.getJdbcURL();
+        filterInfo = model.getFilterInfo();
+        schemaNames = model.getSchemaNames() != null ? new ArrayList<>(model.getSchemaNames()) : null;
+        changeMarkers = model.getChangeMarkers() != null ? new HashMap<>(model.getChangeMarkers()) : null;
+        if (model.getTableList() != null) {
+            for (Table table : model.getTableList()) {
+                tables.add(new TableSnapshot(table));
+            }
+        }
+    }
+
+    /**
+     * @return creation time of the snapshot (milliseconds since the epoch)
+     */
+    long getCreatedAt() {
+        return createdAt;
+    }
+
+    /**
+     * Rebuild the model
+     *
+     * @return a new Model object
+     */
+    Model toModel() {
+        Model model = new Model();
+        model.setSchemaName(schemaName);
+        model.setCatalogName(catalogName);
+        model.setDatabaseName(databaseName);
+        model.setDatabaseType(databaseType);
+        model.setJdbcURL(jdbcURL);
+        model.setFilterInfo(filterInfo);
+        model.setSchemaNames(schemaNames != null ? new ArrayList<>(schemaNames) : null);
+        model.setChangeMarkers(changeMarkers != null ? new HashMap<>(changeMarkers) : null);
+        Map<String, Table> tablesByName = new LinkedHashMap<>();
+        List<Table> tableList = new ArrayList<>();
+        for (TableSnapshot tableSnapshot : tables) {
+            tableList.add(tableSnapshot.getTable(tablesByName));
+        }
+        for (TableSnapshot tableSnapshot : tables) {
+            tableSnapshot.restoreColumns(tablesByName);
+        }
+        model.setTableList(tableList);
+        return model;
+    }
+
+    private static Table lookup(Map<String, Table> tablesByName, String name, String simpleName,
+                                String catalogName, String schemaName) {
+        return tablesByName.computeIfAbsent(name, n -> {
+            Table table = new Table(n);
+            table.setSimpleName(simpleName);
+            table.setCatalogName(catalogName);
+            table.setSchemaName(schemaName);
+            return table;
+        });
+    }
+
+    private static class TableSnapshot implements Serializable {
+
+        private static final long serialVersionUID = 2L;
+
+        private final String name;
+        private final String simpleName;
+        private final String catalogName;
+        private final String schemaName;
+        private final String comment;
+        private final ArrayList<ColumnSnapshot> columns;
+
+        TableSnapshot(Table table) {
+            name = table.getName();
+            simpleName = table.getSimpleName();
+            catalogName = table.getCatalogName();
+            schemaName = table.getSchemaName();
+            comment = table.getComment();
+            if (table.getColumns() != null) {
+                columns = new ArrayList<>();
+                for (Column column : table.getColumns()) {
+                    columns.add(new ColumnSnapshot(column));
+                }
+            } else {
+                columns = null;
+            }
+        }
+
+        Table getTable(Map<String, Table> tablesByName) {
+            Table table = lookup(tablesByName, name, simpleName, catalogName, schemaName);
+            table.setSimpleName(simpleName);
+            table.setCatalogName(catalogName);
+            table.setSchemaName(schemaName);
+            table.setComment(comment);
+            return table;
+        }
+
+        void restoreColumns(Map<String, Table> tablesByName) {
+            if (columns != null) {
+                List<Column> columnList = new ArrayList<>();
+                for (ColumnSnapshot columnSnapshot : columns) {
+                    columnList.add(columnSnapshot.toColumn(tablesByName));
+                }
+                tablesByName.get(name).setColumns(columnList);
+            }
+        }
+    }
+
+    private static class ColumnSnapshot implements Serializable {
+
+        private static final long serialVersionUID = 2L;
+
+        private final String name;
+        private final String type;
+        private final boolean primaryKey;
+        private final boolean unique;
+        private final boolean notNull;
+        private final String comment;
+        private final String foreignKeyTableName;
+        private final String foreignKeyTableSimpleName;
+        private final String foreignKeyTableCatalogName;
+        private final String foreignKeyTableSchemaName;
+
+        ColumnSnapshot(Column column) {
+            name = column.getName();
+            type = column.getType();
+            primaryKey = column.isPrimaryKey();
+            unique = column.isUnique();
+            notNull = column.isNotNull();
+            comment = column.getComment();
+            Table foreignKeyTable = column.getForeignKeyTable();
+            foreignKeyTableName = foreignKeyTable != null ? foreignKeyTable.getName() : null;
+            foreignKeyTableSimpleName = foreignKeyTable != null ? foreignKeyTable.getSimpleName() : null;
+            foreignKeyTableCatalogName = foreignKeyTable != null ? foreignKeyTable.getCatalogName() : null;
+            foreignKeyTableSchemaName = foreignKeyTable != null ? foreignKeyTable.getSchemaName() : null;
+        }
+
+        Column toColumn(Map<String, Table> tablesByName) {
+            Column column = new Column(name, type, primaryKey, unique, notNull);
+            column.setComment(comment);
+            if (foreignKeyTableName != null) {
+                column.setForeignKeyTable(lookup(tablesByName, foreignKeyTableName, foreignKeyTableSimpleName,
+                        foreignKeyTableCatalogName, foreignKeyTableSchemaName));
+            }
+            return column;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.skuehnel.dbvisualizer.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Rendered diagrams (PNG, SVG, PDF) in a local directory, identified by the hash of the PlantUML source,
+ * the output format and the PlantUML version (see {@link #createKey(String, String, String)}).
+ * <p>
+ * The total size of the directory is bounded: after storing a diagram, the least recently used diagrams are
+ * deleted until the limit is met. A hit updates the modification time of the file, which is used as time of
+ * the last use.
+ *
+ * @author Stefan Kuehnel
+ */
+public class RenderCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RenderCache.class);
+
+    private static final String SUFFIX = ".render";
+
+    private final Path cacheDirectory;
+
+    private final long maximumSize;
+
+    /**
+     * Constructor
+     *
+     * @param cacheDirectory directory for the rendered diagrams; it is created if it does not exist
+     * @param maximumSize    maximum total size of the rendered diagrams in bytes
+     */
+    public RenderCache(Path cacheDirectory, long maximumSize) {
+        this.cacheDirectory = cacheDirectory;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Create the key for a rendered diagram
+     *
+     * @param source          the PlantUML source
+     * @param format          the output format, e.g. PNG
+     * @param rendererVersion the version of PlantUML; may be null
+     * @return the key as hex string
+     */
+    public static String createKey(String source, String format, String rendererVersion) {
+        return ModelCache.createKey(source, format, rendererVersion);
+    }
+
+    /**
+     * Copy a rendered diagram to the output file
+     *
+     * @param key    the key of the diagram
+     * @param target the output file; it is replaced
+     * @return true if the diagram was found and copied, false otherwise
+     */
+    public boolean copyTo(String key, Path target) {
+        Path file = getFile(key);
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try {
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            LOGGER.info("Using rendered diagram {}.", file);
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Could not copy rendered diagram {}. Reason: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Store a rendered diagram and evict the least recently used diagrams if the cache is too large
+     *
+     * @param key          the key of the diagram
+     * @param renderedFile the file containing the rendered diagram
+     */
+    public void store(String key, Path renderedFile) {
+        Path file = getFile(key);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(cacheDirectory);
+            tempFile = Files.createTempFile(cacheDirectory, key, ".tmp");
+            Files.copy(renderedFile, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOGGER.info("Stored rendered diagram in {}.", file);
+            evict();
+        } catch (IOException e) {
+            LOGGER.warn("Could not store rendered diagram {}. Reason: {}", file, e.getMessage());
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException deleteException) {
+                    LOGGER.debug("Could not delete {}.", tempFile);
+                }
+            }
+        }
+    }
+
+    private record Entry(Path file, long size, FileTime lastUsed) {
+    }
+
+    private void evict() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        long totalSize = 0;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(SUFFIX) && Files.isRegularFile(file)) {
+                    Entry entry = new Entry(file, Files.size(file), Files.getLastModifiedTime(file));
+                    entries.add(entry);
+                    totalSize += entry.size();
+                }
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::lastUsed));
+        for (Entry entry : entries) {
+            if (totalSize <= maximumSize) {
+                break;
+            }
+            Files.deleteIfExists(entry.file());
+            totalSize -= entry.size();
+            LOGGER.debug("Evicted rendered diagram {}.", entry.file());
+        }
+    }
+
+    private Path getFile(String key) {
+        return cacheDirectory.resolve(key + SUFFIX);
+    }
+}
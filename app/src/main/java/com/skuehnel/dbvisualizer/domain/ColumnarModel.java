@@ -0,0 +1,387 @@
+package com.skuehnel.dbvisualizer.domain;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact, read only representation of the tables of a {@link Model} for very large schemas.
+ * <p>
+ * The columns of all tables are stored column-wise in primitive arrays: names, types and comments
+ * as indices into one string dictionary, the flags in bit sets, the referenced table as table index.
+ * The columns of table i are the entries columnOffset[i] to columnOffset[i + 1] - 1.
+ * <p>
+ * {@link Table} and {@link Column} objects are available as views, so that the visualizers and report
+ * generators work unchanged: there is one view object per table, column views are created when
+ * they are accessed and can be collected afterwards. The views cannot be modified, and the referenced
+ * column of a foreign key is not kept (the retrievers only set the referenced table).
+ *
+ * @author Stefan Kuehnel
+ */
+public final class ColumnarModel {
+
+    private static final int NONE = -1;
+
+    private final String[] strings;
+
+    private final int[] tableName;
+    private final int[] tableSimpleName;
+    private final int[] tableCatalogName;
+    private final int[] tableSchemaName;
+    private final int[] tableComment;
+    private final int[] columnOffset;
+
+    private final int[] columnName;
+    private final int[] columnType;
+    private final int[] columnComment;
+    private final int[] columnForeignKeyTable;
+    private final BitSet primaryKey;
+    private final BitSet unique;
+    private final BitSet notNull;
+
+    private final TableView[] tableViews;
+    private final int tableCount;
+
+    private ColumnarModel(List<Table> tables) {
+        // the referenced tables which are not part of the list (e.g. excluded by the filter) get the indices after them
+        Map<Table, Integer> tableIndex = new IdentityHashMap<>();
+        List<Table> allTables = new ArrayList<>(tables);
+        for (Table table : tables) {
+            tableIndex.putIfAbsent(table, tableIndex.size());
+        }
+        int columnCount = 0;
+        for (Table table : tables) {
+            if (table.getColumns() != null) {
+                for (Column column : table.getColumns()) {
+                    columnCount++;
+                    Table referencedTable = column.getForeignKeyTable();
+                    if (referencedTable != null && !tableIndex.containsKey(referencedTable)) {
+                        tableIndex.put(referencedTable, allTables.size());
+                        allTables.add(referencedTable);
+                    }
+                }
+            }
+        }
+        tableCount = tables.size();
+        int totalTables = allTables.size();
+        Map<String, Integer> dictionary = new HashMap<>();
+        List<String> stringList = new ArrayList<>();
+        tableName = new int[totalTables];
+        tableSimpleName = new int[totalTables];
+        tableCatalogName = new int[totalTables];
+        tableSchemaName = new int[totalTables];
+        tableComment = new int[totalTables];
+        columnOffset = new int[totalTables + 1];
+        columnName = new int[columnCount];
+        columnType = new int[columnCount];
+        columnComment = new int[columnCount];
+        columnForeignKeyTable = new int[columnCount];
+        primaryKey = new BitSet(columnCount);
+        unique = new BitSet(columnCount);
+        notNull = new BitSet(columnCount);
+        int c = 0;
+        for (int t = 0; t < totalTables; t++) {
+            Table table = allTables.get(t);
+            tableName[t] = add(dictionary, stringList, table.getName());
+            tableSimpleName[t] = add(dictionary, stringList, table.getSimpleName());
+            tableCatalogName[t] = add(dictionary, stringList, table.getCatalogName());
+            tableSchemaName[t] = add(dictionary, stringList, table.getSchemaName());
+            tableComment[t] = add(dictionary, stringList, table.getComment());
+            columnOffset[t] = c;
+            if (t < tableCount && table.getColumns() != null) {
+                for (Column column : table.getColumns()) {
+                    columnName[c] = add(dictionary, stringList, column.getName());
+                    columnType[c] = add(dictionary, stringList, column.getType());
+                    columnComment[c] = add(dictionary, stringList, column.getComment());
+                    Table referencedTable = column.getForeignKeyTable();
+                    columnForeignKeyTable[c] = referencedTable != null ? tableIndex.get(referencedTable) : NONE;
+                    primaryKey.set(c, column.isPrimaryKey());
+                    unique.set(c, column.isUnique());
+                    notNull.set(c, column.isNotNull());
+                    c++;
+                }
+            }
+        }
+        columnOffset[totalTables] = c;
+        strings = stringList.toArray(new String[0]);
+        tableViews = new TableView[totalTables];
+        for (int t = 0; t < totalTables; t++) {
+            // tables outside of the list had no columns in the original model either
+            tableViews[t] = new TableView(this, t, t < tableCount || allTables.get(t).getColumns() != null);
+        }
+    }
+
+    private static int add(Map<String, Integer> dictionary, List<String> stringList, String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return dictionary.computeIfAbsent(value, v -> {
+            stringList.add(v);
+            return stringList.size() - 1;
+        });
+    }
+
+    /**
+     * Create a copy of a model whose tables are stored in the compact representation
+     *
+     * @param model the model
+     * @return a new model with the same meta information; its table list is a read only view
+     */
+    public static Model compact(Model model) {
+        Model result = new Model();
+        result.setSchemaName(model.getSchemaName());
+        result.setCatalogName(model.getCatalogName());
+        result.setDatabaseName(model.getDatabaseName());
+        result.setDatabaseType(model.getDatabaseType());
+        result.setJdbcURL(model.getJdbcURL());
+        result.setFilterInfo(model.getFilterInfo());
+        result.setSchemaNames(model.getSchemaNames());
+        result.setChangeMarkers(model.getChangeMarkers());
+        if (model.getTableList() != null) {
+            result.setTableList(new ColumnarModel(model.getTableList()).getTables());
+        }
+        return result;
+    }
+
+    /**
+     * @return the tables as read only list of views
+     */
+    public List<Table> getTables() {
+        return new AbstractList<>() {
+            @Override
+            public Table get(int index) {
+                if (index < 0 || index >= tableCount) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return tableViews[index];
+            }
+
+            @Override
+            public int size() {
+                return tableCount;
+            }
+        };
+    }
+
+    /**
+     * @return number of columns of all tables
+     */
+    public int getColumnCount() {
+        return columnName.length;
+    }
+
+    /**
+     * @return number of distinct strings
+     */
+    public int getStringCount() {
+        return strings.length;
+    }
+
+    private String string(int index) {
+        return index == NONE ? null : strings[index];
+    }
+
+    private static UnsupportedOperationException readOnly() {
+        return new UnsupportedOperationException("The columnar model is read only.");
+    }
+
+    private static final class TableView extends Table {
+
+        private final ColumnarModel store;
+        private final int index;
+        private final boolean hasColumns;
+
+        TableView(ColumnarModel store, int index, boolean hasColumns) {
+            super(null);
+            this.store = store;
+            this.index = index;
+            this.hasColumns = hasColumns;
+        }
+
+        @Override
+        public String getName() {
+            return store.string(store.tableName[index]);
+        }
+
+        @Override
+        public String getSimpleName() {
+            return store.string(store.tableSimpleName[index]);
+        }
+
+        @Override
+        public String getCatalogName() {
+            return store.string(store.tableCatalogName[index]);
+        }
+
+        @Override
+        public String getSchemaName() {
+            return store.string(store.tableSchemaName[index]);
+        }
+
+        @Override
+        public String getComment() {
+            return store.string(store.tableComment[index]);
+        }
+
+        @Override
+        public List<Column> getColumns() {
+            if (!hasColumns) {
+                return null;
+            }
+            int start = store.columnOffset[index];
+            int end = store.columnOffset[index + 1];
+            return new AbstractList<>() {
+                @Override
+                public Column get(int i) {
+                    if (i < 0 || i >= end - start) {
+                        throw new IndexOutOfBoundsException(i);
+                    }
+                    return new ColumnView(store, start + i);
+                }
+
+                @Override
+                public int size() {
+                    return end - start;
+                }
+            };
+        }
+
+        @Override
+        public List<Table> getForeignKeyRelations() {
+            List<Table> relations = new ArrayList<>();
+            for (int c = store.columnOffset[index]; c < store.columnOffset[index + 1]; c++) {
+                if (store.columnForeignKeyTable[c] != NONE) {
+                    relations.add(store.tableViews[store.columnForeignKeyTable[c]]);
+                }
+            }
+            return relations;
+        }
+
+        @Override
+        public void updateForeignKeyRelations() {
+            // derived from the columns
+        }
+
+        @Override
+        public void setName(String name) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setSimpleName(String simpleName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setCatalogName(String catalogName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setSchemaName(String schemaName) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setComment(String comment) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setColumns(List<Column> columns) {
+            throw readOnly();
+        }
+    }
+
+    private static final class ColumnView extends Column {
+
+        private final ColumnarModel store;
+        private final int index;
+
+        ColumnView(ColumnarModel store, int index) {
+            super(null, null);
+            this.store = store;
+            this.index = index;
+        }
+
+        @Override
+        public String getName() {
+            return store.string(store.columnName[index]);
+        }
+
+        @Override
+        public String getType() {
+            return store.string(store.columnType[index]);
+        }
+
+        @Override
+        public String getComment() {
+            return store.string(store.columnComment[index]);
+        }
+
+        @Override
+        public boolean isPrimaryKey() {
+            return store.primaryKey.get(index);
+        }
+
+        @Override
+        public boolean isUnique() {
+            return store.unique.get(index);
+        }
+
+        @Override
+        public boolean isNotNull() {
+            return store.notNull.get(index);
+        }
+
+        @Override
+        public Table getForeignKeyTable() {
+            int table = store.columnForeignKeyTable[index];
+            return table == NONE ? null : store.tableViews[table];
+        }
+
+        @Override
+        public void setName(String name) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setType(String type) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setComment(String comment) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setPrimaryKey(boolean primaryKey) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setUnique(boolean unique) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setNotNull(boolean notNull) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setForeignKeyTable(Table foreignKeyTable) {
+            throw readOnly();
+        }
+
+        @Override
+        public void setForeignKeyColumn(Column foreignKeyColumn) {
+            throw readOnly();
+        }
+    }
+}
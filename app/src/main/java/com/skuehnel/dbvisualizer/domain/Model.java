@@ -1,6 +1,7 @@
 package com.skuehnel.dbvisualizer.domain;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Model container
@@ -13,6 +14,8 @@ public class Model {
     private String databaseName;
     private String jdbcURL;
     private String filterInfo;
+    private List<String> schemaNames;
+    private Map<String, String> changeMarkers;
 
     /**
      * Getter for attribute databaseType
@@ -36,6 +39,8 @@ public class Model {
 
     private List<Table> tableList;
 
+    private ModelIndex index;
+
     /**
      * Getter for attribute schemaName
      *
@@ -54,6 +59,42 @@ public class Model {
         this.schemaName = schemaName;
     }
 
+    /**
+     * Getter for attribute schemaNames
+     *
+     * @return names of all schemas the tables were retrieved from (qualified with the catalog name, if any)
+     */
+    public List<String> getSchemaNames() {
+        return schemaNames;
+    }
+
+    /**
+     * Setter for field schemaNames
+     *
+     * @param schemaNames new value
+     */
+    public void setSchemaNames(List<String> schemaNames) {
+        this.schemaNames = schemaNames;
+    }
+
+    /**
+     * Getter for attribute changeMarkers
+     *
+     * @return change markers (e.g. the time of the last DDL statement) of the tables by table name; may be null
+     */
+    public Map<String, String> getChangeMarkers() {
+        return changeMarkers;
+    }
+
+    /**
+     * Setter for field changeMarkers
+     *
+     * @param changeMarkers new value
+     */
+    public void setChangeMarkers(Map<String, String> changeMarkers) {
+        this.changeMarkers = changeMarkers;
+    }
+
     /**
      * Getter for attribute catalogName
      *
@@ -122,8 +163,21 @@ public class Model {
      *
      * @param tableList new value
      */
-    public void setTableList(List<Table> tableList) {
+    public synchronized void setTableList(List<Table> tableList) {
         this.tableList = tableList;
+        index = null;
+    }
+
+    /**
+     * Index of the tables (lookup by name, referencing tables), built on first use
+     *
+     * @return the index of the current table list
+     */
+    public synchronized ModelIndex getIndex() {
+        if (index == null) {
+            index = new ModelIndex(tableList != null ? tableList : List.of());
+        }
+        return index;
     }
 
     /**
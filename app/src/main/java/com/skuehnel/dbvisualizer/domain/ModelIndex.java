@@ -0,0 +1,193 @@
+package com.skuehnel.dbvisualizer.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index over the tables of a model: lookup by name and the foreign key relations in both directions.
+ * <p>
+ * Every table gets an id (its position in the table list; referenced tables which are not part of the list
+ * get the ids after it). The relations are stored as adjacency arrays: the ids of the tables referenced by
+ * table i are outTargets[outOffset[i]] to outTargets[outOffset[i + 1] - 1], the ids of the tables referencing
+ * it are stored in inSources the same way. There is one entry per foreign key column, so a table which
+ * references another table twice appears twice.
+ * <p>
+ * The index is built once in O(tables + foreign keys) and must be rebuilt if the tables change.
+ *
+ * @author Stefan Kuehnel
+ */
+public class ModelIndex {
+
+    private final Table[] tables;
+    private final Map<Table, Integer> ids;
+    private final Map<String, Integer> idsByName;
+
+    private final int[] outOffset;
+    private final int[] outTargets;
+    private final int[] inOffset;
+    private final int[] inSources;
+
+    /**
+     * Constructor
+     *
+     * @param tableList the tables of a model
+     */
+    public ModelIndex(List<Table> tableList) {
+        List<Table> allTables = new ArrayList<>(tableList);
+        ids = new IdentityHashMap<>();
+        for (int i = 0; i < tableList.size(); i++) {
+            ids.putIfAbsent(tableList.get(i), i);
+        }
+        int tableCount = tableList.size();
+        int edgeCount = 0;
+        for (int i = 0; i < tableCount; i++) {
+            for (Table referencedTable : allTables.get(i).getForeignKeyRelations()) {
+                edgeCount++;
+                if (!ids.containsKey(referencedTable)) {
+                    ids.put(referencedTable, allTables.size());
+                    allTables.add(referencedTable);
+                }
+            }
+        }
+        tables = allTables.toArray(new Table[0]);
+        idsByName = new HashMap<>();
+        for (int i = 0; i < tables.length; i++) {
+            if (tables[i].getName() != null) {
+                idsByName.putIfAbsent(tables[i].getName(), i);
+            }
+        }
+
+        outOffset = new int[tables.length + 1];
+        outTargets = new int[edgeCount];
+        int[] inDegree = new int[tables.length];
+        int edge = 0;
+        for (int i = 0; i < tables.length; i++) {
+            outOffset[i] = edge;
+            if (i < tableCount) {
+                for (Table referencedTable : tables[i].getForeignKeyRelations()) {
+                    int target = ids.get(referencedTable);
+                    outTargets[edge++] = target;
+                    inDegree[target]++;
+                }
+            }
+        }
+        outOffset[tables.length] = edge;
+
+        // counting sort of the edges by target; the sources of a table are in ascending order
+        inOffset = new int[tables.length + 1];
+        for (int i = 0; i < tables.length; i++) {
+            inOffset[i + 1] = inOffset[i] + inDegree[i];
+        }
+        inSources = new int[edgeCount];
+        int[] next = new int[tables.length];
+        System.arraycopy(inOffset, 0, next, 0, tables.length);
+        for (int source = 0; source < tables.length; source++) {
+            for (int e = outOffset[source]; e < outOffset[source + 1]; e++) {
+                inSources[next[outTargets[e]]++] = source;
+            }
+        }
+    }
+
+    /**
+     * @return number of tables including the referenced tables which are not part of the table list
+     */
+    public int size() {
+        return tables.length;
+    }
+
+    /**
+     * @param table a table
+     * @return the id of the table, or -1 if it is not part of the model
+     */
+    public int getId(Table table) {
+        Integer id = ids.get(table);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @param name the name of a table (as returned by {@link Table#getName()}, i.e. qualified if the model
+     *             contains several schemas)
+     * @return the id of the table, or -1 if there is no such table
+     */
+    public int getId(String name) {
+        Integer id = idsByName.get(name);
+        return id != null ? id : -1;
+    }
+
+    /**
+     * @param id the id of a table
+     * @return the table
+     */
+    public Table getTable(int id) {
+        return tables[id];
+    }
+
+    /**
+     * @param name the name of a table
+     * @return the table, or null if there is no such table
+     */
+    public Table getTable(String name) {
+        int id = getId(name);
+        return id >= 0 ? tables[id] : null;
+    }
+
+    /**
+     * @param id the id of a table
+     * @return number of foreign keys of the table
+     */
+    public int getOutDegree(int id) {
+        return outOffset[id + 1] - outOffset[id];
+    }
+
+    /**
+     * @param id the id of a table
+     * @return number of foreign keys referencing the table
+     */
+    public int getInDegree(int id) {
+        return inOffset[id + 1] - inOffset[id];
+    }
+
+    /**
+     * @param id the id of a table
+     * @return the ids of the tables referenced by the table, one per foreign key
+     */
+    public int[] getOutgoing(int id) {
+        int[] result = new int[getOutDegree(id)];
+        System.arraycopy(outTargets, outOffset[id], result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * @param id the id of a table
+     * @return the ids of the tables referencing the table, one per foreign key, in ascending order
+     */
+    public int[] getIncoming(int id) {
+        int[] result = new int[getInDegree(id)];
+        System.arraycopy(inSources, inOffset[id], result, 0, result.length);
+        return result;
+    }
+
+    /**
+     * The tables referencing a table, each table only once
+     *
+     * @param table a table
+     * @return the referencing tables in the order of the table list; empty if the table is not part of the model
+     */
+    public List<Table> getReferencingTables(Table table) {
+        List<Table> result = new ArrayList<>();
+        int id = getId(table);
+        if (id >= 0) {
+            int previous = -1;
+            for (int e = inOffset[id]; e < inOffset[id + 1]; e++) {
+                if (inSources[e] != previous) {
+                    previous = inSources[e];
+                    result.add(tables[previous]);
+                }
+            }
+        }
+        return result;
+    }
+}
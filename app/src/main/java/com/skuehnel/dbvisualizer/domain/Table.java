@@ -13,6 +13,8 @@ public class Table {
 
 	private String name;
 	private String simpleName;
+	private String catalogName;
+	private String schemaName;
 	private String comment;
 	private List<Column> columns;
 	
@@ -42,6 +44,34 @@ public class Table {
 		this.name = name;
 	}
 
+	/**
+	 * @return the name of the catalog the table belongs to (may be null)
+	 */
+	public String getCatalogName() {
+		return catalogName;
+	}
+
+	/**
+	 * @param catalogName the name of the catalog the table belongs to
+	 */
+	public void setCatalogName(String catalogName) {
+		this.catalogName = catalogName;
+	}
+
+	/**
+	 * @return the name of the schema the table belongs to (may be null)
+	 */
+	public String getSchemaName() {
+		return schemaName;
+	}
+
+	/**
+	 * @param schemaName the name of the schema the table belongs to
+	 */
+	public void setSchemaName(String schemaName) {
+		this.schemaName = schemaName;
+	}
+
 	/**
 	 * @return the columns
 	 */
@@ -2,6 +2,7 @@ package com.skuehnel.dbvisualizer.report;
 
 import com.skuehnel.dbvisualizer.domain.Column;
 import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -43,6 +44,21 @@ public abstract class AbstractReportGenerator implements ReportGenerator {
         return String.join(", ", constraintList);
     }
 
+    /**
+     * Helper method to get the names of the tables with a foreign key referencing a table
+     *
+     * @param model the model containing the table
+     * @param table the table
+     * @return names of the referencing tables; empty if the table is not referenced
+     */
+    protected List<String> referencedBy(Model model, Table table) {
+        List<String> names = new ArrayList<>();
+        for (Table referencingTable : model.getIndex().getReferencingTables(table)) {
+            names.add(referencingTable.getName());
+        }
+        return names;
+    }
+
     /**
      * Null Value
      *
@@ -91,6 +107,9 @@ public abstract class AbstractReportGenerator implements ReportGenerator {
         if (model.getFilterInfo() != null) {
             metaInformation.putIfAbsent("Filter", model.getFilterInfo());
         }
+        if (model.getSchemaNames() != null && model.getSchemaNames().size() > 1) {
+            metaInformation.putIfAbsent("Schemas", String.join(", ", model.getSchemaNames()));
+        }
     }
 
     /**
@@ -39,7 +39,7 @@ public class HTMLReportGenerator extends AbstractReportGenerator implements Repo
         return "</body></html>\n";
     }
 
-    private String table(Table table) {
+    private String table(Table table, List<String> referencingTables) {
         StringBuilder stringBuilder = new StringBuilder();
         stringBuilder.append(String.format("    <h2>Table %s</h2>\n", nvl(table.getName(), "")));
         stringBuilder.append(String.format("    <p>%s</p>\n", nvl(table.getComment(), HTML_NBSP)));
@@ -59,6 +59,14 @@ public class HTMLReportGenerator extends AbstractReportGenerator implements Repo
         }
         stringBuilder.append("      </tbody>\n");
         stringBuilder.append("    </table>\n");
+        if (!referencingTables.isEmpty()) {
+            stringBuilder.append("    <h3>Referenced by</h3>\n");
+            stringBuilder.append("    <ul>\n");
+            for (String referencingTable : referencingTables) {
+                stringBuilder.append(String.format("      <li>%s</li>\n", referencingTable));
+            }
+            stringBuilder.append("    </ul>\n");
+        }
         return stringBuilder.toString();
     }
 
@@ -91,6 +99,7 @@ public class HTMLReportGenerator extends AbstractReportGenerator implements Repo
                             "h1 { font-family: sans-serif ; }\n" +
                             "h2 { font-family: sans-serif ; }\n" +
                             "h3 { font-family: sans-serif ; }\n" +
+                            "li { font-family: sans-serif ; }\n" +
                             "table, th, td { border: 1px solid black ; border-collapse: collapse ;  }\n" +
                             "th { font-family: sans-serif ; padding: 10px ; text-align: center ; background-color: #f2f2f2 }\n" +
                             "td { font-family: sans-serif ; padding: 10px ; text-align: left ; }\n" +
@@ -101,7 +110,7 @@ public class HTMLReportGenerator extends AbstractReportGenerator implements Repo
                 outputWriter.write(meta(getMetaInformation()));
             }
             for (Table t : theModel.getTableList()) {
-                outputWriter.write(table(t));
+                outputWriter.write(table(t, referencedBy(theModel, t)));
             }
             outputWriter.write(footer());
             outputWriter.close();
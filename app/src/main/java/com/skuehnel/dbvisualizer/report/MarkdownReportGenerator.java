@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 public class MarkdownReportGenerator extends AbstractReportGenerator implements ReportGenerator {
@@ -49,6 +50,13 @@ public class MarkdownReportGenerator extends AbstractReportGenerator implements
                 for (Column c : t.getColumns()) {
                     outputWriter.write(String.format("|%s|%s|%s|%s|\n", c.getName(), nevl(constraints(c), " "), c.getType(), nvl(c.getComment(), " ")));
                 }
+                List<String> referencingTables = referencedBy(model, t);
+                if (!referencingTables.isEmpty()) {
+                    outputWriter.write("\n### Referenced by\n\n");
+                    for (String referencingTable : referencingTables) {
+                        outputWriter.write(String.format("- %s\n", referencingTable));
+                    }
+                }
             }
             outputWriter.close();
         } catch (IOException e) {
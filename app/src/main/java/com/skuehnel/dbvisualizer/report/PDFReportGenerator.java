@@ -18,6 +18,7 @@ import org.vandeseer.easytable.structure.cell.TextCell;
 
 import java.io.IOException;
 import java.awt.Color;
+import java.util.List;
 import java.util.Map;
 
 public class PDFReportGenerator extends AbstractReportGenerator implements ReportGenerator {
@@ -38,7 +39,7 @@ public class PDFReportGenerator extends AbstractReportGenerator implements Repor
                 float startY = 20;
 
                 TableDrawer drawer = TableDrawer.builder()
-                        .table(createDatabaseTableDescriptionTable(page, databaseTable))
+                        .table(createDatabaseTableDescriptionTable(page, databaseTable, referencedBy(model, databaseTable)))
                         .startX(50)
                         .startY(startY)
                         .endY(200)
@@ -131,8 +132,9 @@ public class PDFReportGenerator extends AbstractReportGenerator implements Repor
         return usable * ((float) percentage / 100f);
     }
 
-    private Table createDatabaseTableDescriptionTable(PDPage pdPage, com.skuehnel.dbvisualizer.domain.Table table) throws IOException {
-        return Table.builder()
+    private Table createDatabaseTableDescriptionTable(PDPage pdPage, com.skuehnel.dbvisualizer.domain.Table table,
+                                                      List<String> referencingTables) throws IOException {
+        Table.TableBuilder tableBuilder = Table.builder()
                 .addColumnsOfWidth(colWidth(pdPage, 100))
                 .addRow(
                         Row.builder()
@@ -151,6 +153,18 @@ public class PDFReportGenerator extends AbstractReportGenerator implements Repor
                                         .horizontalAlignment(HorizontalAlignment.LEFT)
                                         .text(nvl(table.getComment(), "")).build())
                                 .build()
-                ).build();
+                );
+        if (!referencingTables.isEmpty()) {
+            tableBuilder.addRow(
+                    Row.builder()
+                            .add(TextCell.builder()
+                                    .font(Standard14Fonts.FontName.HELVETICA)
+                                    .fontSize(10)
+                                    .horizontalAlignment(HorizontalAlignment.LEFT)
+                                    .text("Referenced by: " + String.join(", ", referencingTables)).build())
+                            .build()
+            );
+        }
+        return tableBuilder.build();
     }
 }
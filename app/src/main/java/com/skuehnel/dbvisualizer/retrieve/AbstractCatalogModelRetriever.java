@@ -0,0 +1,171 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Base class for retrievers which read the model directly from the system catalog
+ * of a database with a fixed number of set based queries instead of
+ * {@link java.sql.DatabaseMetaData} calls per table.
+ *
+ * @author Stefan Kuehnel
+ */
+public abstract class AbstractCatalogModelRetriever extends AbstractModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(AbstractCatalogModelRetriever.class);
+
+    /**
+     * Callback for the rows of a result set
+     */
+    @FunctionalInterface
+    protected interface RowHandler {
+        void handle(ResultSet resultSet) throws SQLException;
+    }
+
+    /**
+     * Constructor
+     *
+     * @param jdbcConnection a {@link java.sql.Connection} object
+     * @param dbDialect      the dialect of the database
+     */
+    protected AbstractCatalogModelRetriever(Connection jdbcConnection, DB_DIALECT dbDialect) {
+        super(jdbcConnection, dbDialect);
+    }
+
+    @Override
+    public Model getModel(String catalog, String schema) throws SQLException {
+        Model result = new Model();
+        result.setCatalogName(catalog);
+        result.setSchemaName(schema);
+        LOGGER.debug("Retrieving tables from the {} catalog for catalog '{}' and schema '{}'",
+                dbDialect.getValue(), catalog, schema);
+        TableCollector collector = new TableCollector();
+        List<String> schemas = getSchemas(catalog, schema);
+        if (schemas == null) {
+            retrieveTables(collector, catalog, schema);
+        } else {
+            LOGGER.info("Retrieving tables of {} schema(s).", schemas.size());
+            for (String currentSchema : schemas) {
+                retrieveTables(collector, catalog, currentSchema);
+            }
+            if (schemas.size() == 1) {
+                result.setSchemaName(schemas.get(0));
+            }
+            result.setSchemaNames(schemas);
+        }
+        result.setTableList(collector.getTables());
+        logNamePoolStatistics();
+        DatabaseMetaData databaseMetaData = getMetaData(jdbcConnection);
+        if (databaseMetaData != null) {
+            result.setDatabaseType(databaseMetaData.getDatabaseProductName() + " " + databaseMetaData.getDatabaseProductVersion());
+        }
+        return result;
+    }
+
+    /**
+     * Determine the schemas to retrieve, if no schema is given: all schemas returned by
+     * {@link #getSchemasQuery()} except for the system schemas of the dialect
+     *
+     * @param catalog name of the catalog (may be null)
+     * @param schema  name of the schema (may be null)
+     * @return the schemas, or null if the schema is given or {@link #retrieveTables} reads all schemas itself
+     * @throws SQLException if an error occurs
+     */
+    protected List<String> getSchemas(String catalog, String schema) throws SQLException {
+        String schemasQuery = getSchemasQuery();
+        if (schema != null || schemasQuery == null) {
+            return null;
+        }
+        List<String> schemas = new ArrayList<>();
+        query(schemasQuery, List.of(), rs -> {
+            String currentSchema = rs.getString(1);
+            if (isRetrievedSchema(currentSchema)) {
+                schemas.add(currentSchema);
+            }
+        });
+        return schemas;
+    }
+
+    /**
+     * Query for the names of the schemas (first column), used if no schema is given
+     *
+     * @return the query, or null if {@link #retrieveTables} reads all schemas itself
+     */
+    protected String getSchemasQuery() {
+        return null;
+    }
+
+    /**
+     * Read tables, columns, primary keys and foreign keys from the system catalog
+     *
+     * @param collector collector for tables and columns
+     * @param catalog   name of the catalog (may be null)
+     * @param schema    name of the schema (may be null)
+     * @throws SQLException if an error occurs
+     */
+    protected abstract void retrieveTables(TableCollector collector, String catalog, String schema) throws SQLException;
+
+    /**
+     * Execute a query and pass each row of the result to a handler
+     *
+     * @param sql        the query
+     * @param parameters values for the parameters of the query
+     * @param handler    callback for each row
+     * @throws SQLException if an error occurs
+     */
+    protected void query(String sql, List<String> parameters, RowHandler handler) throws SQLException {
+        LOGGER.debug("Executing catalog query: {}", sql);
+        try (PreparedStatement statement = prepareStatement(sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setString(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    handler.handle(resultSet);
+                }
+            }
+        }
+    }
+
+    /**
+     * Prepare a statement for a catalog query
+     *
+     * @param sql the query
+     * @return a prepared statement
+     * @throws SQLException if an error occurs
+     */
+    protected PreparedStatement prepareStatement(String sql) throws SQLException {
+        return jdbcConnection.prepareStatement(sql);
+    }
+
+    /**
+     * Register a table, if it matches the filter
+     *
+     * @param collector collector for tables and columns
+     * @param catalog   name of the catalog
+     * @param schema    name of the schema
+     * @param tableName name of the table
+     * @param comment   comment of the table
+     */
+    protected void addTable(TableCollector collector, String catalog, String schema, String tableName, String comment) {
+        if (matchesFilter(tableName)) {
+            LOGGER.debug("Processing table: '{}'", tableName);
+            Table t = getTable(catalog, schema, tableName);
+            t.setComment(comment);
+            collector.addTable(createKey(catalog, schema, tableName), t);
+        }
+    }
+}
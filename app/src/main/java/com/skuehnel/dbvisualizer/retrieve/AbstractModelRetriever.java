@@ -0,0 +1,274 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Common base of the model retrievers
+ *
+ * @author Stefan Kuehnel
+ */
+public abstract class AbstractModelRetriever implements ModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(AbstractModelRetriever.class);
+
+    /**
+     * The constants of {@link java.sql.Types}; vendor specific codes are not contained
+     */
+    private static final Map<Integer, JDBCType> JDBC_TYPES = new HashMap<>();
+
+    private static final Set<JDBCType> CHARACTER_TYPES = EnumSet.of(JDBCType.CHAR, JDBCType.VARCHAR,
+            JDBCType.LONGNVARCHAR, JDBCType.LONGVARCHAR, JDBCType.NCHAR, JDBCType.NVARCHAR);
+
+    private static final Set<JDBCType> DECIMAL_TYPES = EnumSet.of(JDBCType.DECIMAL, JDBCType.DOUBLE,
+            JDBCType.FLOAT, JDBCType.REAL, JDBCType.NUMERIC);
+
+    static {
+        for (JDBCType type : JDBCType.values()) {
+            JDBC_TYPES.put(type.getVendorTypeNumber(), type);
+        }
+    }
+
+    protected final Connection jdbcConnection;
+
+    protected final DB_DIALECT dbDialect;
+
+    private final TableRegistry tableRegistry;
+
+    private final NamePool namePool = new NamePool();
+
+    private Pattern filter;
+
+    private boolean includeSystemSchemas = false;
+
+    private MetadataStatistics metadataStatistics;
+
+    private final Map<TypeKey, String> typeDescriptions = new ConcurrentHashMap<>();
+
+    private final Set<Integer> unknownTypeValues = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructor
+     *
+     * @param jdbcConnection a {@link java.sql.Connection} object
+     * @param dbDialect      the dialect of the database
+     */
+    protected AbstractModelRetriever(Connection jdbcConnection, DB_DIALECT dbDialect) {
+        this.jdbcConnection = jdbcConnection;
+        this.dbDialect = dbDialect;
+        tableRegistry = new TableRegistry();
+    }
+
+    @Override
+    public void setFilter(Pattern filter) {
+        this.filter = filter;
+    }
+
+    @Override
+    public Pattern getFilter() {
+        return filter;
+    }
+
+    @Override
+    public void setIncludeSystemSchemas(boolean includeSystemSchemas) {
+        this.includeSystemSchemas = includeSystemSchemas;
+    }
+
+    @Override
+    public boolean isIncludeSystemSchemas() {
+        return includeSystemSchemas;
+    }
+
+    @Override
+    public void setMetadataStatistics(MetadataStatistics metadataStatistics) {
+        this.metadataStatistics = metadataStatistics;
+    }
+
+    /**
+     * Get the metadata of a connection; if statistics are enabled, the calls are recorded
+     *
+     * @param connection the connection
+     * @return the metadata
+     * @throws SQLException if an error occurs
+     */
+    protected DatabaseMetaData getMetaData(Connection connection) throws SQLException {
+        DatabaseMetaData databaseMetaData = connection.getMetaData();
+        if (metadataStatistics != null && databaseMetaData != null) {
+            return metadataStatistics.instrument(databaseMetaData);
+        }
+        return databaseMetaData;
+    }
+
+    /**
+     * Check whether the tables of a schema shall be retrieved if no schema is given
+     *
+     * @param schemaName name of the schema (or of the catalog, if the database has no schemas)
+     * @return false, if it is a system schema of the dialect and system schemas are not included
+     */
+    protected boolean isRetrievedSchema(String schemaName) {
+        if (!includeSystemSchemas && dbDialect.isSystemSchema(schemaName)) {
+            LOGGER.debug("Skipping system schema {}.", schemaName);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check a table name against the filter
+     *
+     * @param tableName name of the table
+     * @return true, if no filter is set or the table name matches the filter
+     */
+    protected boolean matchesFilter(String tableName) {
+        if (filter != null && !filter.matcher(tableName).matches()) {
+            LOGGER.debug("Table name {} does not match filter.", tableName);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Factory method for tables; each table shall only be created once
+     *
+     * @param catalog   name of the catalog
+     * @param schema    name of the schema
+     * @param tableName name of the table
+     * @return a Table object
+     */
+    protected Table getTable(String catalog, String schema, String tableName) {
+        return tableRegistry.getTable(intern(catalog), intern(schema), intern(tableName));
+    }
+
+    /**
+     * Factory method for columns; name and type are taken from the name pool of this retriever
+     *
+     * @param columnName name of the column
+     * @param type       data type of the column (may be null)
+     * @return a new Column object
+     */
+    protected Column newColumn(String columnName, String type) {
+        return new Column(intern(columnName), intern(type));
+    }
+
+    /**
+     * Get the shared instance of a name, comment or type description from the name pool of this retriever
+     *
+     * @param value the string (may be null)
+     * @return an equal string, which is shared by all users of the pool
+     */
+    protected String intern(String value) {
+        return namePool.intern(value);
+    }
+
+    /**
+     * Log the size of the name pool and the estimated memory saved by it
+     */
+    protected void logNamePoolStatistics() {
+        LOGGER.info("Name pool: {} distinct strings, {} duplicates shared, about {} KB saved.",
+                namePool.size(), namePool.getDuplicates(), namePool.getSavedBytes() / 1024);
+    }
+
+    /**
+     * Register an existing table, so that {@link #getTable(String, String, String)} returns it instead of a new table
+     *
+     * @param table the table
+     */
+    protected void registerTable(Table table) {
+        tableRegistry.register(table);
+    }
+
+    protected String createKey(String catalog, String schema, String tableName) {
+        return TableRegistry.createKey(catalog, schema, tableName);
+    }
+
+    /**
+     * Resolve a constant of {@link java.sql.Types}
+     *
+     * @param typeValue integer constant
+     * @return the corresponding JDBCType or JDBCType.OTHER if the constant is unknown
+     */
+    protected JDBCType getJdbcType(int typeValue) {
+        JDBCType type = JDBC_TYPES.get(typeValue);
+        if (type != null) {
+            return type;
+        }
+        if (unknownTypeValues.add(typeValue)) {
+            LOGGER.warn(
+                    "Integer constant '{}' does not seem to represent a known JDBCType.",
+                    typeValue);
+        }
+        return JDBCType.OTHER;
+    }
+
+    /**
+     * Create a data type description for a column. The descriptions are cached, so columns of the same
+     * type share one String instance.
+     *
+     * @param type             the JDBC type of the column
+     * @param typeName         the database specific name of the type (may be null)
+     * @param size             size or precision of the column
+     * @param fractionalDigits number of fractional digits (may be null)
+     * @return String representation of the data type of the column
+     */
+    protected String getTypeDescription(JDBCType type, String typeName, int size, Integer fractionalDigits) {
+        boolean decimalType = isDecimalType(type);
+        // only the parts which appear in the description
+        TypeKey key = new TypeKey(type, typeName, isCharacterType(type) || decimalType ? size : 0,
+                decimalType && fractionalDigits != null && fractionalDigits > 0 ? fractionalDigits : 0);
+        String description = typeDescriptions.get(key);
+        if (description == null) {
+            description = typeDescriptions.computeIfAbsent(key, k -> intern(createTypeDescription(k)));
+        }
+        return description;
+    }
+
+    private static String createTypeDescription(TypeKey key) {
+        StringBuilder buffer = new StringBuilder();
+        if (key.typeName() != null) {
+            buffer.append(key.typeName());
+        } else {
+            buffer.append(key.type().name());
+        }
+        if (CHARACTER_TYPES.contains(key.type())) {
+            buffer.append("(");
+            buffer.append(key.size());
+            buffer.append(")");
+        } else if (DECIMAL_TYPES.contains(key.type())) {
+            buffer.append("(");
+            buffer.append(key.size());
+            if (key.fractionalDigits() > 0) {
+                buffer.append(',');
+                buffer.append(key.fractionalDigits());
+            }
+            buffer.append(")");
+        }
+        return buffer.toString();
+    }
+
+    private record TypeKey(JDBCType type, String typeName, int size, int fractionalDigits) {
+    }
+
+    protected boolean isCharacterType(JDBCType type) {
+        return CHARACTER_TYPES.contains(type);
+    }
+
+    protected boolean isDecimalType(JDBCType type) {
+        return DECIMAL_TYPES.contains(type);
+    }
+}
@@ -5,12 +5,20 @@ import java.sql.DatabaseMetaData;
 import java.sql.JDBCType;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
 import com.skuehnel.dbvisualizer.domain.Model;
@@ -20,13 +28,15 @@ import org.slf4j.LoggerFactory;
 import com.skuehnel.dbvisualizer.domain.Column;
 import com.skuehnel.dbvisualizer.domain.Table;
 import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+import com.skuehnel.dbvisualizer.util.RETRIEVAL_MODE;
+import com.skuehnel.dbvisualizer.util.RETRIEVAL_PROFILE;
 
 /**
  * Project DBVisualizer
  *
  * @author Stefan Kuehnel
  */
-public class ERModelRetriever {
+public class ERModelRetriever extends AbstractModelRetriever {
 
     private static final Logger LOGGER = LoggerFactory
             .getLogger(ERModelRetriever.class);
@@ -38,10 +48,14 @@ public class ERModelRetriever {
     private static final String DATA_TYPE = "DATA_TYPE";
     private static final String DECIMAL_DIGITS = "DECIMAL_DIGITS";
     private static final String TABLE_CATALOG = "TABLE_CATALOG";
+    private static final String TABLE_CAT = "TABLE_CAT";
     private static final String TABLE_SCHEM = "TABLE_SCHEM";
     private static final String TABLE_NAME = "TABLE_NAME";
     private static final String TABLE_TYPE = "TABLE_TYPE";
     private static final String TABLE_REMARKS = "REMARKS";
+    private static final String FKTABLE_CAT = "FKTABLE_CAT";
+    private static final String FKTABLE_SCHEM = "FKTABLE_SCHEM";
+    private static final String FKTABLE_NAME = "FKTABLE_NAME";
     private static final String FKCOLUMN_NAME = "FKCOLUMN_NAME";
     private static final String PKCOLUMN_NAME = "PKCOLUMN_NAME";
     private static final String PKTABLE_CAT = "PKTABLE_CAT";
@@ -49,138 +63,741 @@ public class ERModelRetriever {
     private static final String PKTABLE_NAME = "PKTABLE_NAME";
     private static final String CHAR_OCTET_LENGTH = "CHAR_OCTET_LENGTH";
 
-    private Connection jdbcConnection;
-
     private static final String[] TABLE_TYPES = {"TABLE", "VIEW"};
 
-    private Map<String, Table> knownTables;
+    private RETRIEVAL_MODE retrievalMode = RETRIEVAL_MODE.PER_TABLE;
+
+    private RETRIEVAL_PROFILE retrievalProfile = RETRIEVAL_PROFILE.FULL;
+
+    private Consumer<Table> tableConsumer;
+
+    private List<String> tableNamePatterns;
+
+    private Pattern tableNamePatternsFilter;
 
-    private DB_DIALECT dbDialect;
+    private List<String> seedTables;
 
-    private Pattern filter;
+    private int crawlDepth = 1;
+
+    private boolean followExportedKeys = false;
 
     /**
      * Constructor
      *
      * @param jdbcConnection a {@link java.sql.Connection} object
+     * @param dbDialect      the dialect of the database
      */
     public ERModelRetriever(Connection jdbcConnection, DB_DIALECT dbDialect) {
-        this.jdbcConnection = jdbcConnection;
-        this.dbDialect = dbDialect;
-        knownTables = new HashMap<>();
+        super(jdbcConnection, dbDialect);
     }
 
     /**
      * Retrieve a list of {@link com.skuehnel.dbvisualizer.domain.Table} objects
-     * from the database
+     * from the database. If no schema is given, the tables of all schemas (and catalogs)
+     * are retrieved, except for the system schemas of the dialect.
      *
      * @param catalog Catalog in which the schema(s) for which a model should be created are located. May be null
      * @param schema  Schema for which the model shall be created
      * @return list of table objects
      * @throws SQLException if an error occurs
      */
+    @Override
     public Model getModel(String catalog, String schema) throws SQLException {
         Model result = new Model();
         result.setCatalogName(catalog);
         result.setSchemaName(schema);
         List<Table> tables = new ArrayList<>();
-        DatabaseMetaData databaseMetaData = jdbcConnection.getMetaData();
+        DatabaseMetaData databaseMetaData = getMetaData(jdbcConnection);
         if (databaseMetaData != null) {
-
+            List<SchemaReference> schemas;
             if (schema == null || dbDialect == DB_DIALECT.H2) {
-
-                ResultSet schemaResultSet = databaseMetaData.getSchemas();
-                if (schemaResultSet != null) {
-                    while (schemaResultSet.next()) {
-
-                        String currentCatalog = null;
-                        try {
-                            currentCatalog = schemaResultSet
-                                    .getString(TABLE_CATALOG);
-                        } catch (SQLException e) {
-                            LOGGER.warn("Problem when trying to read Catalog information. Exception: '{}'", e);
-                        }
-                        String currentSchema = schemaResultSet
-                                .getString(TABLE_SCHEM);
-                        LOGGER.debug(
-                                "Going to retrieve tables for catalog '{}' and schema '{}'.",
-                                catalog, currentSchema);
-
-                        if (addCurrentSchema(dbDialect, schema, currentSchema)) {
-                            result.setSchemaName(currentSchema);
-                            List<Table> tablesForSchema = getTables(
-                                    databaseMetaData, currentCatalog, currentSchema);
-                            tables.addAll(tablesForSchema);
-                        }
-                    }
-                    schemaResultSet.close();
-                }
+                schemas = getSchemaReferences(databaseMetaData, catalog, schema);
             } else {
-                tables.addAll(getTables(databaseMetaData, catalog, schema));
+                schemas = List.of(new SchemaReference(catalog, schema));
             }
+            if (seedTables != null && !seedTables.isEmpty()) {
+                tables.addAll(retrieveNeighborhood(databaseMetaData, schemas));
+            } else {
+                tables.addAll(retrieveSchemas(databaseMetaData, schemas));
+            }
+            if (schema == null && schemas.size() == 1) {
+                result.setSchemaName(schemas.get(0).schema());
+            }
+            List<String> schemaNames = new ArrayList<>();
+            for (SchemaReference schemaReference : schemas) {
+                schemaNames.add(schemaReference.getQualifiedName());
+            }
+            result.setSchemaNames(schemaNames);
             result.setDatabaseType(databaseMetaData.getDatabaseProductName() + " " + databaseMetaData.getDatabaseProductVersion());
 
         }
         result.setTableList(tables);
+        logNamePoolStatistics();
         return result;
     }
 
-    private boolean addCurrentSchema(DB_DIALECT dialect, String requiredSchema, String currentSchema) {
-        // in H2 all schemas are returned, the rquired one needs to be filtered out
-        if (dialect == DB_DIALECT.H2) {
-            return requiredSchema != null && requiredSchema.equals(currentSchema);
+    /**
+     * Retrieve the tables of several schemas one after the other
+     *
+     * @param databaseMetaData the database metadata
+     * @param schemas          the schemas
+     * @return list of table objects
+     * @throws SQLException if an error occurs
+     */
+    protected List<Table> retrieveSchemas(DatabaseMetaData databaseMetaData, List<SchemaReference> schemas) throws SQLException {
+        List<Table> tables = new ArrayList<>();
+        for (SchemaReference schemaReference : schemas) {
+            LOGGER.debug("Going to retrieve tables for catalog '{}' and schema '{}'.",
+                    schemaReference.catalog(), schemaReference.schema());
+            tables.addAll(retrieveTables(databaseMetaData, schemaReference.catalog(), schemaReference.schema()));
+        }
+        return tables;
+    }
+
+    /**
+     * Retrieve the metadata of the given tables one after the other
+     *
+     * @param databaseMetaData the database metadata
+     * @param tableReferences  the tables
+     * @return list of table objects in the order of the references
+     * @throws SQLException if an error occurs
+     */
+    protected List<Table> retrieveTables(DatabaseMetaData databaseMetaData, List<TableReference> tableReferences) throws SQLException {
+        List<Table> tables = new ArrayList<>();
+        for (TableReference tableReference : tableReferences) {
+            tables.add(retrieveTable(databaseMetaData, tableReference.catalog(), tableReference.schema(),
+                    tableReference.tableName(), tableReference.tableComment()));
+        }
+        return tables;
+    }
+
+    /**
+     * Crawl from the seed tables breadth first along the foreign keys (imported keys and, if enabled,
+     * exported keys) up to the crawl depth. Only the metadata of the tables reached is retrieved.
+     * Seed tables may be qualified with the schema (or catalog); tables reached over a foreign key
+     * must match the filter and must not belong to a system schema.
+     *
+     * @param databaseMetaData the database metadata
+     * @param schemas          the schemas in which the seed tables are searched
+     * @return list of table objects, ordered by the distance from the seed tables
+     * @throws SQLException if an error occurs
+     */
+    protected List<Table> retrieveNeighborhood(DatabaseMetaData databaseMetaData, List<SchemaReference> schemas) throws SQLException {
+        List<Table> tables = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        List<TableReference> level = new ArrayList<>();
+        Map<SchemaReference, Map<String, String>> tableNamesOfSchemas = new HashMap<>();
+        for (String seedTable : seedTables) {
+            List<TableReference> found = findSeedTable(databaseMetaData, schemas, seedTable.trim());
+            if (found.isEmpty()) {
+                LOGGER.warn("Seed table '{}' not found.", seedTable);
+            }
+            for (TableReference tableReference : found) {
+                if (visited.add(createKey(tableReference.catalog(), tableReference.schema(), tableReference.tableName()))) {
+                    level.add(tableReference);
+                }
+            }
+        }
+        for (int depth = 0; !level.isEmpty(); depth++) {
+            LOGGER.info("Retrieving {} table(s) at distance {} from the seed tables.", level.size(), depth);
+            List<Table> levelTables = retrieveTables(databaseMetaData, level);
+            tables.addAll(levelTables);
+            if (depth >= crawlDepth) {
+                break;
+            }
+            Map<SchemaReference, List<String>> neighborsBySchema = new LinkedHashMap<>();
+            for (int i = 0; i < level.size(); i++) {
+                for (Table neighbor : getNeighbors(databaseMetaData, level.get(i), levelTables.get(i))) {
+                    String catalog = neighbor.getCatalogName();
+                    String schema = neighbor.getSchemaName();
+                    String tableName = neighbor.getSimpleName();
+                    if (!visited.add(createKey(catalog, schema, tableName))
+                            || !isRetrievedSchema(schema != null ? schema : catalog) || !matchesFilter(tableName)) {
+                        continue;
+                    }
+                    neighborsBySchema.computeIfAbsent(new SchemaReference(catalog, schema), k -> new ArrayList<>())
+                            .add(tableName);
+                }
+            }
+            level = findNeighbors(databaseMetaData, neighborsBySchema, tableNamesOfSchemas);
+        }
+        return tables;
+    }
+
+    /**
+     * Look up the neighbors of one level. A single neighbor in a schema is looked up directly; for several
+     * neighbors in the same schema, the tables of the schema are listed once and kept for the following levels.
+     *
+     * @param neighborsBySchema   the names of the neighbors, grouped by schema
+     * @param tableNamesOfSchemas the tables of the schemas listed so far, by schema
+     * @return the neighbors which exist, grouped by schema
+     */
+    private List<TableReference> findNeighbors(DatabaseMetaData databaseMetaData,
+                                               Map<SchemaReference, List<String>> neighborsBySchema,
+                                               Map<SchemaReference, Map<String, String>> tableNamesOfSchemas) throws SQLException {
+        List<TableReference> found = new ArrayList<>();
+        for (Map.Entry<SchemaReference, List<String>> entry : neighborsBySchema.entrySet()) {
+            SchemaReference schemaReference = entry.getKey();
+            List<String> tableNames = entry.getValue();
+            Map<String, String> tableNamesOfSchema = tableNamesOfSchemas.get(schemaReference);
+            if (tableNamesOfSchema == null && tableNames.size() == 1) {
+                TableReference tableReference = findTable(databaseMetaData, schemaReference, tableNames.get(0));
+                if (tableReference != null) {
+                    found.add(tableReference);
+                }
+                continue;
+            }
+            if (tableNamesOfSchema == null) {
+                tableNamesOfSchema = getTableNames(databaseMetaData, schemaReference.catalog(), schemaReference.schema());
+                tableNamesOfSchemas.put(schemaReference, tableNamesOfSchema);
+            }
+            for (String tableName : tableNames) {
+                if (tableNamesOfSchema.containsKey(tableName)) {
+                    found.add(new TableReference(schemaReference, tableName, tableNamesOfSchema.get(tableName)));
+                }
+            }
+        }
+        return found;
+    }
+
+    private List<TableReference> findSeedTable(DatabaseMetaData databaseMetaData, List<SchemaReference> schemas,
+                                               String seedTable) throws SQLException {
+        List<TableReference> found = new ArrayList<>();
+        int separator = seedTable.lastIndexOf('.');
+        String qualifier = separator > 0 ? seedTable.substring(0, separator) : null;
+        String tableName = seedTable.substring(separator + 1);
+        for (SchemaReference schemaReference : schemas) {
+            if (qualifier == null || qualifier.equals(schemaReference.getQualifiedName())
+                    || qualifier.equals(schemaReference.schema())) {
+                TableReference tableReference = findTable(databaseMetaData, schemaReference, tableName);
+                if (tableReference != null) {
+                    found.add(tableReference);
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Look up a single table or view
+     *
+     * @return the table or null, if it does not exist
+     */
+    private TableReference findTable(DatabaseMetaData databaseMetaData, SchemaReference schemaReference,
+                                     String tableName) throws SQLException {
+        String schema = schemaReference.schema();
+        ResultSet tablesResultSet = databaseMetaData.getTables(schemaReference.catalog(), schema,
+                LikePatterns.escape(tableName, databaseMetaData.getSearchStringEscape()), TABLE_TYPES);
+        if (tablesResultSet != null) {
+            try (tablesResultSet) {
+                while (tablesResultSet.next()) {
+                    if (tableName.equals(tablesResultSet.getString(TABLE_NAME))
+                            && isInSchema(tablesResultSet, TABLE_SCHEM, schema)) {
+                        return new TableReference(schemaReference, tableName, tablesResultSet.getString(TABLE_REMARKS));
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The tables referenced by a table and, if enabled, the tables referencing it
+     */
+    private List<Table> getNeighbors(DatabaseMetaData databaseMetaData, TableReference tableReference,
+                                     Table table) throws SQLException {
+        List<Table> neighbors = new ArrayList<>();
+        if (table.getColumns() != null) {
+            for (Column column : table.getColumns()) {
+                if (column.getForeignKeyTable() != null) {
+                    neighbors.add(column.getForeignKeyTable());
+                }
+            }
+        }
+        if (followExportedKeys) {
+            String catalog = tableReference.catalog();
+            String schema = tableReference.schema();
+            ResultSet exportedKeysRS = databaseMetaData.getExportedKeys(catalog, schema, tableReference.tableName());
+            if (exportedKeysRS != null) {
+                try (exportedKeysRS) {
+                    while (exportedKeysRS.next()) {
+                        // MySQL returns a cat here, even if no catalog is used overall
+                        String fkTableCat = dbDialect != DB_DIALECT.MYSQL ? exportedKeysRS.getString(FKTABLE_CAT) : null;
+                        String fkTableSchema = exportedKeysRS.getString(FKTABLE_SCHEM);
+                        neighbors.add(getTable(fkTableCat != null ? fkTableCat : catalog,
+                                fkTableSchema != null ? fkTableSchema : schema, exportedKeysRS.getString(FKTABLE_NAME)));
+                    }
+                }
+            }
+        }
+        return neighbors;
+    }
+
+    /**
+     * Determine the schemas to retrieve. The schemas are read with java.sql.DatabaseMetaData#getSchemas; only if the
+     * database has no schemas (e.g. MySQL), the catalogs from java.sql.DatabaseMetaData#getCatalogs are retrieved
+     * as a whole. Catalogs are not searched one by one for schemas, since some drivers (e.g. PgJDBC) report
+     * databases as catalogs, but ignore the catalog argument and return the schemas of the current database for each.
+     *
+     * @param databaseMetaData the database metadata
+     * @param catalog          the required catalog (may be null)
+     * @param requiredSchema   the required schema; if null, all schemas except for the system schemas
+     * @return the schemas to retrieve
+     * @throws SQLException if an error occurs
+     */
+    private List<SchemaReference> getSchemaReferences(DatabaseMetaData databaseMetaData, String catalog,
+                                                      String requiredSchema) throws SQLException {
+        Set<SchemaReference> schemas = getSchemaReferencesOfCatalog(databaseMetaData, catalog, requiredSchema);
+        if (schemas.isEmpty() && catalog == null && requiredSchema == null) {
+            try (ResultSet catalogResultSet = databaseMetaData.getCatalogs()) {
+                while (catalogResultSet != null && catalogResultSet.next()) {
+                    String currentCatalog = catalogResultSet.getString(TABLE_CAT);
+                    if (currentCatalog != null && isRetrievedSchema(currentCatalog)) {
+                        schemas.add(new SchemaReference(currentCatalog, null));
+                    }
+                }
+            }
+        }
+        if (schemas.isEmpty()) {
+            // neither catalogs nor schemas (e.g. SQLite), or a catalog without schemas
+            schemas.add(new SchemaReference(catalog, requiredSchema));
+        }
+        LOGGER.info("Retrieving tables of {} schema(s).", schemas.size());
+        return new ArrayList<>(schemas);
+    }
+
+    private Set<SchemaReference> getSchemaReferencesOfCatalog(DatabaseMetaData databaseMetaData, String catalog,
+                                                              String requiredSchema) throws SQLException {
+        Set<SchemaReference> schemas = new LinkedHashSet<>();
+        ResultSet schemaResultSet = catalog == null ? databaseMetaData.getSchemas()
+                : databaseMetaData.getSchemas(catalog, null);
+        if (schemaResultSet != null) {
+            try (schemaResultSet) {
+                while (schemaResultSet.next()) {
+                    String currentCatalog = null;
+                    try {
+                        currentCatalog = schemaResultSet
+                                .getString(TABLE_CATALOG);
+                    } catch (SQLException e) {
+                        LOGGER.warn("Problem when trying to read Catalog information. Exception: '{}'", e);
+                    }
+                    if (currentCatalog == null) {
+                        currentCatalog = catalog;
+                    } else if (catalog != null && !catalog.equals(currentCatalog)) {
+                        // the driver ignores the catalog argument
+                        continue;
+                    }
+                    String currentSchema = schemaResultSet
+                            .getString(TABLE_SCHEM);
+                    // in H2 all schemas are returned, the required one needs to be filtered out
+                    if (requiredSchema != null ? requiredSchema.equals(currentSchema) : isRetrievedSchema(currentSchema)) {
+                        schemas.add(new SchemaReference(currentCatalog, currentSchema));
+                    }
+                }
+            }
+        }
+        return schemas;
+    }
+
+    /**
+     * Setter. Set the strategy for the retrieval of the metadata.
+     *
+     * @param retrievalMode new value for the retrieval mode
+     */
+    public void setRetrievalMode(RETRIEVAL_MODE retrievalMode) {
+        this.retrievalMode = retrievalMode;
+    }
+
+    /**
+     * Getter. The current strategy for the retrieval of the metadata.
+     *
+     * @return the retrieval mode
+     */
+    public RETRIEVAL_MODE getRetrievalMode() {
+        return retrievalMode;
+    }
+
+    /**
+     * Setter. Set the extent of the retrieved metadata.
+     *
+     * @param retrievalProfile new value for the retrieval profile
+     */
+    public void setRetrievalProfile(RETRIEVAL_PROFILE retrievalProfile) {
+        this.retrievalProfile = retrievalProfile;
+    }
+
+    /**
+     * Getter. The extent of the retrieved metadata.
+     *
+     * @return the retrieval profile
+     */
+    public RETRIEVAL_PROFILE getRetrievalProfile() {
+        return retrievalProfile;
+    }
+
+    /**
+     * Setter. The consumer receives each table as soon as its metadata is complete, e.g. to write the diagram
+     * while the retrieval continues. With several connections it is called from several threads.
+     * Tables which are not retrieved again (see {@link IncrementalModelRetriever}) are not passed to it.
+     *
+     * @param tableConsumer the consumer (may be null)
+     */
+    public void setTableConsumer(Consumer<Table> tableConsumer) {
+        this.tableConsumer = tableConsumer;
+    }
+
+    private void tableRetrieved(Table table) {
+        if (tableConsumer != null) {
+            tableConsumer.accept(table);
         }
-        return true;
     }
 
     /**
-     * Setter. Set the filter for table names.
+     * Setter. If seed tables are given, only the tables reachable from them over foreign keys are retrieved.
      *
-     * @param filter new value for the table name filter pattern
+     * @param seedTables names of the seed tables, optionally qualified with the schema (e.g. "SALES.ORDERS"); may be null
      */
-    public void setFilter(Pattern filter) {
-        this.filter = filter;
+    public void setSeedTables(List<String> seedTables) {
+        this.seedTables = seedTables;
     }
 
     /**
-     * Getter. The current filter pattern for table names
+     * Getter. The tables to start the crawl along the foreign keys from.
      *
-     * @return the filter pattern for table names
+     * @return names of the seed tables or null
      */
-    public Pattern getFilter() {
-        return filter;
+    public List<String> getSeedTables() {
+        return seedTables;
     }
 
-    private List<Table> getTables(DatabaseMetaData databaseMetaData,
-                                  String catalog, String schema) throws SQLException {
+    /**
+     * Setter. Maximum number of foreign key hops from the seed tables.
+     *
+     * @param crawlDepth the depth; 0 means only the seed tables
+     */
+    public void setCrawlDepth(int crawlDepth) {
+        this.crawlDepth = crawlDepth;
+    }
+
+    /**
+     * Getter. Maximum number of foreign key hops from the seed tables.
+     *
+     * @return the depth
+     */
+    public int getCrawlDepth() {
+        return crawlDepth;
+    }
+
+    /**
+     * Setter. If true, the crawl from the seed tables also follows foreign keys referencing a table.
+     *
+     * @param followExportedKeys new value
+     */
+    public void setFollowExportedKeys(boolean followExportedKeys) {
+        this.followExportedKeys = followExportedKeys;
+    }
+
+    /**
+     * Getter. If true, the crawl from the seed tables also follows foreign keys referencing a table.
+     *
+     * @return true, if exported keys are followed
+     */
+    public boolean isFollowExportedKeys() {
+        return followExportedKeys;
+    }
+
+    private List<Table> retrieveTables(DatabaseMetaData databaseMetaData,
+                                       String catalog, String schema) throws SQLException {
+        if (retrievalMode == RETRIEVAL_MODE.BULK) {
+            return getTablesBulk(databaseMetaData, catalog, schema);
+        }
+        return getTables(databaseMetaData, catalog, schema);
+    }
+
+    /**
+     * Retrieve the tables of a schema table by table
+     *
+     * @param databaseMetaData the database metadata
+     * @param catalog          name of the catalog (may be null)
+     * @param schema           name of the schema (may be null)
+     * @return list of table objects
+     * @throws SQLException if an error occurs
+     */
+    protected List<Table> getTables(DatabaseMetaData databaseMetaData,
+                                    String catalog, String schema) throws SQLException {
         List<Table> tablesForSchema = new ArrayList<>();
+        for (Map.Entry<String, String> tableEntry : getTableNames(databaseMetaData, catalog, schema).entrySet()) {
+            tablesForSchema.add(retrieveTable(databaseMetaData, catalog, schema, tableEntry.getKey(), tableEntry.getValue()));
+        }
+        return tablesForSchema;
+    }
+
+    /**
+     * Get the names of the tables and views of a schema which match the filter
+     *
+     * @param databaseMetaData the database metadata
+     * @param catalog          name of the catalog (may be null)
+     * @param schema           name of the schema (may be null)
+     * @return map of table names to table comments in the order returned by the database
+     * @throws SQLException if an error occurs
+     */
+    protected Map<String, String> getTableNames(DatabaseMetaData databaseMetaData,
+                                                String catalog, String schema) throws SQLException {
         LOGGER.debug("Retrieving tables for catalog '{}' and schema '{}'",
                 catalog, schema);
-        ResultSet tablesResultSet = databaseMetaData.getTables(catalog, schema,
-                null, TABLE_TYPES);
-        if (tablesResultSet != null) {
-            while (tablesResultSet.next()) {
-                String tableName = tablesResultSet.getString(TABLE_NAME);
-                String tableType = tablesResultSet.getString(TABLE_TYPE);
-                String tableComment = tablesResultSet.getString(TABLE_REMARKS);
-                if (filter != null && !filter.matcher(tableName).matches()) {
-                    LOGGER.debug("Table name {} does not match filter.", tableName);
-                    continue;
+        List<String> tableNamePatterns = getTableNamePatterns(databaseMetaData);
+        Map<String, String[]> tables = new LinkedHashMap<>();
+        for (String tableNamePattern : tableNamePatterns) {
+            ResultSet tablesResultSet = databaseMetaData.getTables(catalog, schema,
+                    tableNamePattern, TABLE_TYPES);
+            if (tablesResultSet != null) {
+                try (tablesResultSet) {
+                    while (tablesResultSet.next()) {
+                        String tableName = tablesResultSet.getString(TABLE_NAME);
+                        String tableType = tablesResultSet.getString(TABLE_TYPE);
+                        String tableComment = tablesResultSet.getString(TABLE_REMARKS);
+                        if (!isInSchema(tablesResultSet, TABLE_SCHEM, schema) || !matchesFilter(tableName)) {
+                            continue;
+                        }
+                        LOGGER.debug("Found table: '{}' Type: '{}'", tableName, tableType);
+                        tables.putIfAbsent(tableName, new String[]{tableType, tableName, tableComment});
+                    }
                 }
-                LOGGER.debug("Processing table: '{}' Type: '{}'", tableName, tableType);
-                Set<String> primaryKeyNames = getPrimaryKeysSet(databaseMetaData, catalog, schema, tableName);
-                Map<String, Table> referencedTables = getReferencedTables(databaseMetaData, catalog, schema, tableName);
-                List<Column> columns = getColumns(databaseMetaData, catalog, schema, tableName, primaryKeyNames, referencedTables);
-                Table t = getTable(catalog, schema, tableName);
-                t.setColumns(columns);
-                t.setComment(tableComment);
-                tablesForSchema.add(t);
+            } else {
+                LOGGER.warn("Result Set is empty");
             }
-            tablesResultSet.close();
+        }
+        List<String[]> tableRows = new ArrayList<>(tables.values());
+        if (tableNamePatterns.size() > 1) {
+            // same order as a single call: by type, then by name
+            tableRows.sort(Comparator.comparing((String[] row) -> String.valueOf(row[0])).thenComparing(row -> row[1]));
+        }
+        Map<String, String> tableNames = new LinkedHashMap<>();
+        for (String[] tableRow : tableRows) {
+            tableNames.put(tableRow[1], tableRow[2]);
+        }
+        return tableNames;
+    }
+
+    /**
+     * Translate the filter into LIKE patterns for the tableNamePattern argument of the metadata calls,
+     * so that only (a superset of) the matching tables is transferred. The filter is still applied to the result.
+     *
+     * @param databaseMetaData the database metadata
+     * @return the patterns; a list containing only null, if there is no filter or it cannot be translated
+     * @throws SQLException if an error occurs
+     */
+    protected synchronized List<String> getTableNamePatterns(DatabaseMetaData databaseMetaData) throws SQLException {
+        Pattern filter = getFilter();
+        if (tableNamePatterns == null || tableNamePatternsFilter != filter) {
+            List<String> patterns = null;
+            if (filter != null) {
+                patterns = LikePatterns.fromRegex(filter.pattern(), databaseMetaData.getSearchStringEscape());
+                if (patterns == null) {
+                    LOGGER.info("Filter '{}' cannot be translated into LIKE patterns; all table names are read and filtered afterwards.",
+                            filter.pattern());
+                } else {
+                    LOGGER.info("Filter '{}' is passed to the database as table name pattern(s) {}.", filter.pattern(), patterns);
+                }
+            }
+            tableNamePatterns = patterns != null ? patterns : Collections.singletonList(null);
+            tableNamePatternsFilter = filter;
+        }
+        return tableNamePatterns;
+    }
+
+    /**
+     * Retrieve primary keys, imported keys and columns of a single table
+     *
+     * @param databaseMetaData the database metadata
+     * @param catalog          name of the catalog (may be null)
+     * @param schema           name of the schema (may be null)
+     * @param tableName        name of the table
+     * @param tableComment     comment of the table (may be null)
+     * @return the table object
+     * @throws SQLException if an error occurs
+     */
+    protected Table retrieveTable(DatabaseMetaData databaseMetaData, String catalog, String schema,
+                                  String tableName, String tableComment) throws SQLException {
+        LOGGER.debug("Processing table: '{}'", tableName);
+        List<Column> columns;
+        if (retrievalProfile == RETRIEVAL_PROFILE.ENTITIES) {
+            columns = getForeignKeyColumns(getReferencedTables(databaseMetaData, catalog, schema, tableName));
         } else {
-            LOGGER.warn("Result Set is empty");
+            Set<String> primaryKeyNames = getPrimaryKeysSet(databaseMetaData, catalog, schema, tableName);
+            Map<String, Table> referencedTables = getReferencedTables(databaseMetaData, catalog, schema, tableName);
+            columns = getColumns(databaseMetaData, catalog, schema, tableName, primaryKeyNames, referencedTables);
         }
-        return tablesForSchema;
+        Table t = getTable(catalog, schema, tableName);
+        t.setColumns(columns);
+        t.setComment(tableComment);
+        tableRetrieved(t);
+        return t;
+    }
+
+    /**
+     * Retrieve all tables of a schema with a constant number of metadata calls:
+     * one call each for tables, columns, primary keys and imported keys.
+     * Columns and keys are assigned to the tables in memory.
+     * With the {@link RETRIEVAL_PROFILE#ENTITIES} profile only the tables and imported keys are read.
+     *
+     * @param databaseMetaData the database metadata
+     * @param catalog          name of the catalog (may be null)
+     * @param schema           name of the schema (may be null)
+     * @return list of table objects
+     * @throws SQLException if an error occurs
+     */
+    private List<Table> getTablesBulk(DatabaseMetaData databaseMetaData,
+                                      String catalog, String schema) throws SQLException {
+        LOGGER.debug("Retrieving tables (bulk) for catalog '{}' and schema '{}'",
+                catalog, schema);
+        TableCollector collector = new TableCollector();
+        List<String> tableNames = new ArrayList<>();
+        for (Map.Entry<String, String> tableEntry : getTableNames(databaseMetaData, catalog, schema).entrySet()) {
+            String tableName = tableEntry.getKey();
+            Table t = getTable(catalog, schema, tableName);
+            t.setComment(tableEntry.getValue());
+            collector.addTable(createKey(catalog, schema, tableName), t);
+            tableNames.add(tableName);
+        }
+
+        boolean entitiesOnly = retrievalProfile == RETRIEVAL_PROFILE.ENTITIES;
+        for (String tableNamePattern : entitiesOnly ? List.<String>of() : getTableNamePatterns(databaseMetaData)) {
+            ResultSet columnResultSet = databaseMetaData.getColumns(catalog, schema, tableNamePattern, null);
+            if (columnResultSet != null) {
+                try (columnResultSet) {
+                    while (columnResultSet.next()) {
+                        String key = createKey(catalog, schema, columnResultSet.getString(TABLE_NAME));
+                        if (collector.containsTable(key) && isInSchema(columnResultSet, TABLE_SCHEM, schema)) {
+                            collector.addColumn(key, createColumn(columnResultSet));
+                        }
+                    }
+                }
+            }
+        }
+
+        if (!entitiesOnly && !readSchemaWide("primary key",
+                () -> databaseMetaData.getPrimaryKeys(catalog, schema, null),
+                primaryKeysRS -> {
+                    if (isInSchema(primaryKeysRS, TABLE_SCHEM, schema)) {
+                        collector.markPrimaryKey(createKey(catalog, schema, primaryKeysRS.getString(TABLE_NAME)),
+                                primaryKeysRS.getString(COLUMN_NAME));
+                    }
+                })) {
+            for (String tableName : tableNames) {
+                String key = createKey(catalog, schema, tableName);
+                for (String pkColumnName : getPrimaryKeysSet(databaseMetaData, catalog, schema, tableName)) {
+                    collector.markPrimaryKey(key, pkColumnName);
+                }
+            }
+        }
+
+        // the foreign keys are assigned once they are complete, so that a fallback cannot add columns twice
+        Map<String, Map<String, Table>> referencedTablesByKey = new HashMap<>();
+        if (!readSchemaWide("imported key",
+                () -> databaseMetaData.getImportedKeys(catalog, schema, null),
+                importedKeysRS -> {
+                    String fkColumnName = importedKeysRS.getString(FKCOLUMN_NAME);
+                    if (fkColumnName != null && isInSchema(importedKeysRS, FKTABLE_SCHEM, schema)) {
+                        String key = createKey(catalog, schema, importedKeysRS.getString(FKTABLE_NAME));
+                        referencedTablesByKey.computeIfAbsent(key, k -> new HashMap<>())
+                                .put(fkColumnName, getReferencedTable(importedKeysRS, catalog, schema));
+                    }
+                })) {
+            referencedTablesByKey.clear();
+            for (String tableName : tableNames) {
+                referencedTablesByKey.put(createKey(catalog, schema, tableName),
+                        getReferencedTables(databaseMetaData, catalog, schema, tableName));
+            }
+        }
+        for (Map.Entry<String, Map<String, Table>> referencedTables : referencedTablesByKey.entrySet()) {
+            String key = referencedTables.getKey();
+            if (entitiesOnly) {
+                for (Column column : getForeignKeyColumns(referencedTables.getValue())) {
+                    collector.addColumn(key, column);
+                }
+            } else {
+                for (Map.Entry<String, Table> fk : referencedTables.getValue().entrySet()) {
+                    collector.markForeignKey(key, fk.getKey(), fk.getValue());
+                }
+            }
+        }
+        List<Table> tables = collector.getTables();
+        for (Table table : tables) {
+            tableRetrieved(table);
+        }
+        return tables;
+    }
+
+    /**
+     * A metadata call returning a result set
+     */
+    @FunctionalInterface
+    private interface MetadataCall {
+        ResultSet execute() throws SQLException;
+    }
+
+    /**
+     * Processes the current row of a result set
+     */
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet resultSet) throws SQLException;
+    }
+
+    /**
+     * Read all rows of a schema wide metadata call (i.e. without table name). Not all drivers support these calls:
+     * if the call or the first {@link ResultSet#next()} fails, false is returned and the caller falls back to one
+     * call per table. Connection errors and errors after the first row are thrown.
+     *
+     * @param description what is looked up, for the log
+     * @param call        the metadata call
+     * @param rowHandler  processes each row
+     * @return false, if the driver does not support the schema wide call
+     * @throws SQLException if an error occurs
+     */
+    private boolean readSchemaWide(String description, MetadataCall call, RowHandler rowHandler) throws SQLException {
+        ResultSet resultSet;
+        try {
+            resultSet = call.execute();
+        } catch (SQLException e) {
+            return fallBackToTableLookup(description, e);
+        }
+        if (resultSet != null) {
+            try (resultSet) {
+                boolean hasRow;
+                try {
+                    hasRow = resultSet.next();
+                } catch (SQLException e) {
+                    return fallBackToTableLookup(description, e);
+                }
+                for (; hasRow; hasRow = resultSet.next()) {
+                    rowHandler.handle(resultSet);
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean fallBackToTableLookup(String description, SQLException e) throws SQLException {
+        if (e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("08"))) {
+            throw e;
+        }
+        LOGGER.info("Driver does not support a schema wide {} lookup; falling back to one call per table. Reason: {}",
+                description, e.getMessage());
+        return false;
+    }
+
+    /**
+     * The schema argument of the metadata calls is a pattern; make sure that a row belongs to the requested schema.
+     */
+    private boolean isInSchema(ResultSet rs, String schemaColumn, String schema) throws SQLException {
+        if (schema == null) {
+            return true;
+        }
+        String rowSchema = rs.getString(schemaColumn);
+        return rowSchema == null || rowSchema.equals(schema);
     }
 
     private List<Column> getColumns(DatabaseMetaData databaseMetaData, String catalog, String schema, String tableName, Set<String> primaryKeyNames, Map<String, Table> referencedTables) throws SQLException {
@@ -188,95 +805,130 @@ public class ERModelRetriever {
         ResultSet columnResultSet = databaseMetaData.getColumns(
                 catalog, schema, tableName, null);
         if (columnResultSet != null) {
-            while (columnResultSet.next()) {
-                String columnName = columnResultSet
-                        .getString(COLUMN_NAME);
-                String columnComment = columnResultSet.getString(COLUMN_REMARKS);
-                String dataType = getTypeDescription(columnResultSet);
-                boolean nullable = checkBoolean(columnResultSet,
-                        "IS_NULLABLE", "yes");
-                LOGGER.debug("Column: '{}', Type: '{}'", columnName,
-                        dataType);
-                Column column = new Column(columnName, dataType);
-                column.setComment(columnComment);
-                column.setNotNull(!nullable);
-                if (primaryKeyNames.contains(columnName)) {
-                    LOGGER.debug("Column: '{}' is primary key!",
-                            columnName);
-                    column.setPrimaryKey(true);
-                }
-                if (referencedTables.containsKey(columnName)) {
-                    Table referencedTable = referencedTables
-                            .get(columnName);
-                    LOGGER.debug(
-                            "Column: '{}' is foreign key to table '{}'!",
-                            columnName, referencedTable.getName());
-                    column.setForeignKeyTable(referencedTable);
+            try (columnResultSet) {
+                while (columnResultSet.next()) {
+                    Column column = createColumn(columnResultSet);
+                    String columnName = column.getName();
+                    if (primaryKeyNames.contains(columnName)) {
+                        LOGGER.debug("Column: '{}' is primary key!",
+                                columnName);
+                        column.setPrimaryKey(true);
+                    }
+                    if (referencedTables.containsKey(columnName)) {
+                        Table referencedTable = referencedTables
+                                .get(columnName);
+                        LOGGER.debug(
+                                "Column: '{}' is foreign key to table '{}'!",
+                                columnName, referencedTable.getName());
+                        column.setForeignKeyTable(referencedTable);
+                    }
+                    columns.add(column);
                 }
-                columns.add(column);
             }
-            columnResultSet.close();
         }
         return columns;
     }
 
+    /**
+     * Columns for the {@link RETRIEVAL_PROFILE#ENTITIES} profile: only the foreign key columns, ordered by name
+     */
+    private List<Column> getForeignKeyColumns(Map<String, Table> referencedTables) {
+        List<Column> columns = new ArrayList<>();
+        for (String columnName : new TreeSet<>(referencedTables.keySet())) {
+            Column column = newColumn(columnName, null);
+            column.setForeignKeyTable(referencedTables.get(columnName));
+            columns.add(column);
+        }
+        return columns;
+    }
+
+    private Column createColumn(ResultSet columnResultSet) throws SQLException {
+        String columnName = columnResultSet
+                .getString(COLUMN_NAME);
+        String columnComment = columnResultSet.getString(COLUMN_REMARKS);
+        String dataType = getTypeDescription(columnResultSet);
+        boolean nullable = checkBoolean(columnResultSet,
+                "IS_NULLABLE", "yes");
+        LOGGER.debug("Column: '{}', Type: '{}'", columnName,
+                dataType);
+        Column column = newColumn(columnName, dataType);
+        column.setComment(intern(columnComment));
+        column.setNotNull(!nullable);
+        return column;
+    }
+
     private Map<String, Table> getReferencedTables(DatabaseMetaData databaseMetaData, String catalog, String schema, String tableName) throws SQLException {
         Map<String, Table> referencedTables = new HashMap<>();
         ResultSet importedKeysRS = databaseMetaData.getImportedKeys(
                 catalog, schema, tableName);
         if (importedKeysRS != null) {
-            while (importedKeysRS.next()) {
-                String fkColumnName = importedKeysRS
-                        .getString(FKCOLUMN_NAME);
-                String referencedPkColumnName = importedKeysRS
-                        .getString(PKCOLUMN_NAME);
-
-                if (fkColumnName != null) {
-                    String fkTableCat = null;
-                    if (dbDialect != DB_DIALECT.MYSQL) {
-                        // MySQL returns a cat here, even is no catalog is used overall
-                        fkTableCat = importedKeysRS
-                                .getString(PKTABLE_CAT);
-                    }
-                    String fkTableSchema = importedKeysRS
-                            .getString(PKTABLE_SCHEM);
-                    String fkTableName = importedKeysRS
-                            .getString(PKTABLE_NAME);
-                    LOGGER.debug(
-                            "FKCOLUMN_NAME: '{}' -> '{}' (PK of referenced table: '{}')",
-                            fkColumnName, fkTableName,
-                            referencedPkColumnName);
-
-                    // If catalog/schema information is null, use current catalog/schema
-                    if (fkTableSchema == null) {
-                        fkTableSchema = schema;
-                    }
-                    if (fkTableCat == null) {
-                        fkTableCat = catalog;
+            try (importedKeysRS) {
+                while (importedKeysRS.next()) {
+                    String fkColumnName = importedKeysRS
+                            .getString(FKCOLUMN_NAME);
+                    String referencedPkColumnName = importedKeysRS
+                            .getString(PKCOLUMN_NAME);
+
+                    if (fkColumnName != null) {
+                        Table fkTable = getReferencedTable(importedKeysRS, catalog, schema);
+                        LOGGER.debug(
+                                "FKCOLUMN_NAME: '{}' -> '{}' (PK of referenced table: '{}')",
+                                fkColumnName, fkTable.getName(),
+                                referencedPkColumnName);
+                        referencedTables.put(fkColumnName, fkTable);
                     }
-                    Table fkTable = getTable(fkTableCat, fkTableSchema,
-                            fkTableName);
-                    referencedTables.put(fkColumnName, fkTable);
                 }
             }
-            importedKeysRS.close();
         }
         return referencedTables;
     }
 
+    /**
+     * Get the table referenced by the current row of a result set of java.sql.DatabaseMetaData#getImportedKeys
+     *
+     * @param importedKeysRS result set of java.sql.DatabaseMetaData#getImportedKeys
+     * @param catalog        current catalog
+     * @param schema         current schema
+     * @return the referenced table
+     * @throws SQLException if an error occurs
+     */
+    private Table getReferencedTable(ResultSet importedKeysRS, String catalog, String schema) throws SQLException {
+        String fkTableCat = null;
+        if (dbDialect != DB_DIALECT.MYSQL) {
+            // MySQL returns a cat here, even is no catalog is used overall
+            fkTableCat = importedKeysRS
+                    .getString(PKTABLE_CAT);
+        }
+        String fkTableSchema = importedKeysRS
+                .getString(PKTABLE_SCHEM);
+        String fkTableName = importedKeysRS
+                .getString(PKTABLE_NAME);
+
+        // If catalog/schema information is null, use current catalog/schema
+        if (fkTableSchema == null) {
+            fkTableSchema = schema;
+        }
+        if (fkTableCat == null) {
+            fkTableCat = catalog;
+        }
+        return getTable(fkTableCat, fkTableSchema,
+                fkTableName);
+    }
+
     private Set<String> getPrimaryKeysSet(DatabaseMetaData databaseMetaData, String catalog, String schema, String tableName) throws SQLException {
         ResultSet primaryKeysRS = databaseMetaData.getPrimaryKeys(
                 catalog, schema, tableName);
         Set<String> primaryKeyNames = new HashSet<>();
         if (primaryKeysRS != null) {
-            while (primaryKeysRS.next()) {
-                String pkColumnName = primaryKeysRS
-                        .getString(COLUMN_NAME);
-                if (pkColumnName != null) {
-                    primaryKeyNames.add(pkColumnName);
+            try (primaryKeysRS) {
+                while (primaryKeysRS.next()) {
+                    String pkColumnName = primaryKeysRS
+                            .getString(COLUMN_NAME);
+                    if (pkColumnName != null) {
+                        primaryKeyNames.add(pkColumnName);
+                    }
                 }
             }
-            primaryKeysRS.close();
         }
         return primaryKeyNames;
     }
@@ -290,97 +942,22 @@ public class ERModelRetriever {
      */
     private String getTypeDescription(ResultSet columnResultSet)
             throws SQLException {
-        StringBuilder buffer = new StringBuilder();
-
-        // initialize with a proper value, if type cannot be resolved
-        JDBCType type = JDBCType.OTHER;
-        int typeValue = columnResultSet.getInt(DATA_TYPE);
-
-        try {
-            type = JDBCType.valueOf(typeValue);
-        } catch (IllegalArgumentException exception) {
-            LOGGER.warn(
-                    "Integer constant '{}' does not seem to represent a known JDBCType.",
-                    typeValue);
-        }
-
+        JDBCType type = getJdbcType(columnResultSet.getInt(DATA_TYPE));
         int size = columnResultSet.getInt(COLUMN_SIZE);
-        if (type != null) {
-            if (columnResultSet.getString(TYPE_NAME) != null) {
-                buffer.append(columnResultSet.getString(TYPE_NAME));
-            } else {
-                buffer.append(type.name());
+        if (dbDialect == DB_DIALECT.ORACLE && isDecimalType(type) && size == 0) {
+            int charOctetLength = columnResultSet.getInt(CHAR_OCTET_LENGTH);
+            if (!columnResultSet.wasNull()) {
+                size = charOctetLength;
             }
-            if (type.equals(JDBCType.CHAR) || type.equals(JDBCType.VARCHAR)
-                    || type.equals(JDBCType.LONGNVARCHAR)
-                    || type.equals(JDBCType.LONGVARCHAR)
-                    || type.equals(JDBCType.NCHAR)
-                    || type.equals(JDBCType.NVARCHAR)) {
-                buffer.append("(");
-                buffer.append(size);
-                buffer.append(")");
-            } else if (type.equals(JDBCType.DECIMAL)
-                    || type.equals(JDBCType.DOUBLE)
-                    || type.equals(JDBCType.FLOAT)
-                    || type.equals(JDBCType.REAL)
-                    || type.equals(JDBCType.NUMERIC)) {
-
-                buffer.append("(");
-                if (dbDialect == DB_DIALECT.ORACLE) {
-                    if (size == 0) {
-                        if (columnResultSet.getObject(CHAR_OCTET_LENGTH) != null) {
-                            size = columnResultSet.getInt(CHAR_OCTET_LENGTH);
-                        }
-                    }
-                    buffer.append(size);
-                } else {
-                    buffer.append(size);
-                }
-                if (columnResultSet.getObject(DECIMAL_DIGITS) != null) {
-                    int fractionalDigits = columnResultSet.getInt(DECIMAL_DIGITS);
-                    if (fractionalDigits > 0) {
-                        buffer.append(',');
-                        buffer.append(fractionalDigits);
-                    }
-                }
-
-                buffer.append(")");
-            }
-        }
-        return buffer.toString();
-    }
-
-    /**
-     * Factory method for tables; each table shall only be created once
-     *
-     * @param catalog   name of the catalog
-     * @param schema    name of the schema
-     * @param tableName name of the table
-     * @return a Table object
-     */
-    private Table getTable(String catalog, String schema, String tableName) {
-        String key = createKey(catalog, schema, tableName);
-        Table t = knownTables.get(key);
-        if (t == null) {
-            t = new Table(key);
-            t.setSimpleName(tableName);
-            knownTables.put(key, t);
         }
-        return t;
-    }
-
-    private String createKey(String catalog, String schema, String tableName) {
-        StringBuilder keyBuilder = new StringBuilder();
-        if (catalog != null) {
-            keyBuilder.append(catalog);
-            keyBuilder.append('.');
-        }
-        if (schema != null) {
-            keyBuilder.append(schema);
-            keyBuilder.append('.');
+        Integer fractionalDigits = null;
+        if (isDecimalType(type)) {
+            int decimalDigits = columnResultSet.getInt(DECIMAL_DIGITS);
+            if (!columnResultSet.wasNull()) {
+                fractionalDigits = decimalDigits;
+            }
         }
-        keyBuilder.append(tableName);
-        return keyBuilder.toString();
+        return getTypeDescription(type, columnResultSet.getString(TYPE_NAME), size, fractionalDigits);
     }
 
     private boolean checkBoolean(ResultSet rs, String columnName,
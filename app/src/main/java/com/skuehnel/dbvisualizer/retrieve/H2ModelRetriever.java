@@ -0,0 +1,146 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Retrieves the model of an H2 (2.x) database from INFORMATION_SCHEMA.
+ * If no schema is given, all schemas are retrieved one after the other, except for INFORMATION_SCHEMA.
+ *
+ * @author Stefan Kuehnel
+ */
+public class H2ModelRetriever extends AbstractCatalogModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(H2ModelRetriever.class);
+
+    private static final String SCHEMAS_QUERY = "SELECT SCHEMA_NAME FROM INFORMATION_SCHEMA.SCHEMATA ORDER BY SCHEMA_NAME";
+
+    private static final String TABLES_QUERY = "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, REMARKS"
+            + " FROM INFORMATION_SCHEMA.TABLES"
+            + " WHERE TABLE_SCHEMA = ? AND TABLE_TYPE IN ('BASE TABLE', 'TABLE', 'VIEW')"
+            + " ORDER BY TABLE_TYPE, TABLE_NAME";
+
+    // the driver reports DECIMAL columns as DECIMAL, although their data type is NUMERIC
+    private static final String COLUMNS_QUERY = "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME,"
+            + " CASE WHEN DECLARED_DATA_TYPE = 'DECIMAL' THEN 'DECIMAL' ELSE DATA_TYPE END,"
+            + " CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, NUMERIC_SCALE, IS_NULLABLE, REMARKS"
+            + " FROM INFORMATION_SCHEMA.COLUMNS"
+            + " WHERE TABLE_SCHEMA = ?"
+            + " ORDER BY TABLE_NAME, ORDINAL_POSITION";
+
+    private static final String KEYS_QUERY = "SELECT tc.TABLE_CATALOG, tc.TABLE_SCHEMA, tc.TABLE_NAME, k.COLUMN_NAME,"
+            + " tc.CONSTRAINT_TYPE, u.TABLE_CATALOG, u.TABLE_SCHEMA, u.TABLE_NAME"
+            + " FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS tc"
+            + " JOIN INFORMATION_SCHEMA.KEY_COLUMN_USAGE k ON k.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA"
+            + " AND k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME"
+            + " LEFT JOIN INFORMATION_SCHEMA.REFERENTIAL_CONSTRAINTS rc ON rc.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA"
+            + " AND rc.CONSTRAINT_NAME = tc.CONSTRAINT_NAME"
+            + " LEFT JOIN INFORMATION_SCHEMA.TABLE_CONSTRAINTS u ON u.CONSTRAINT_SCHEMA = rc.UNIQUE_CONSTRAINT_SCHEMA"
+            + " AND u.CONSTRAINT_NAME = rc.UNIQUE_CONSTRAINT_NAME"
+            + " WHERE tc.TABLE_SCHEMA = ? AND tc.CONSTRAINT_TYPE IN ('PRIMARY KEY', 'FOREIGN KEY')";
+
+    /**
+     * Mapping of the H2 type names to JDBC types (as reported by the H2 JDBC driver)
+     */
+    private static final Map<String, JDBCType> TYPES = Map.ofEntries(
+            Map.entry("CHARACTER", JDBCType.CHAR),
+            Map.entry("CHARACTER VARYING", JDBCType.VARCHAR),
+            Map.entry("VARCHAR_IGNORECASE", JDBCType.VARCHAR),
+            Map.entry("CHARACTER LARGE OBJECT", JDBCType.CLOB),
+            Map.entry("BINARY", JDBCType.BINARY),
+            Map.entry("BINARY VARYING", JDBCType.VARBINARY),
+            Map.entry("BINARY LARGE OBJECT", JDBCType.BLOB),
+            Map.entry("BOOLEAN", JDBCType.BOOLEAN),
+            Map.entry("TINYINT", JDBCType.TINYINT),
+            Map.entry("SMALLINT", JDBCType.SMALLINT),
+            Map.entry("INTEGER", JDBCType.INTEGER),
+            Map.entry("BIGINT", JDBCType.BIGINT),
+            Map.entry("NUMERIC", JDBCType.NUMERIC),
+            Map.entry("DECIMAL", JDBCType.DECIMAL),
+            Map.entry("DECFLOAT", JDBCType.NUMERIC),
+            Map.entry("REAL", JDBCType.REAL),
+            Map.entry("DOUBLE PRECISION", JDBCType.DOUBLE),
+            Map.entry("DATE", JDBCType.DATE),
+            Map.entry("TIME", JDBCType.TIME),
+            Map.entry("TIME WITH TIME ZONE", JDBCType.TIME_WITH_TIMEZONE),
+            Map.entry("TIMESTAMP", JDBCType.TIMESTAMP),
+            Map.entry("TIMESTAMP WITH TIME ZONE", JDBCType.TIMESTAMP_WITH_TIMEZONE),
+            Map.entry("UUID", JDBCType.BINARY),
+            Map.entry("ARRAY", JDBCType.ARRAY));
+
+    /**
+     * Constructor
+     *
+     * @param jdbcConnection a {@link java.sql.Connection} object
+     */
+    public H2ModelRetriever(Connection jdbcConnection) {
+        super(jdbcConnection, DB_DIALECT.H2);
+    }
+
+    @Override
+    protected String getSchemasQuery() {
+        return SCHEMAS_QUERY;
+    }
+
+    @Override
+    protected void retrieveTables(TableCollector collector, String catalog, String schema) throws SQLException {
+        // getSchemas supplies the schema if none is given
+        List<String> parameters = List.of(schema);
+
+        query(TABLES_QUERY, parameters, rs ->
+                addTable(collector, rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+
+        query(COLUMNS_QUERY, parameters, rs -> {
+            String key = createKey(rs.getString(1), rs.getString(2), rs.getString(3));
+            if (collector.containsTable(key)) {
+                String dataType = getTypeDescription(rs);
+                Column column = newColumn(rs.getString(4), dataType);
+                column.setNotNull("NO".equals(rs.getString(9)));
+                column.setComment(intern(rs.getString(10)));
+                LOGGER.debug("Column: '{}', Type: '{}'", column.getName(), dataType);
+                collector.addColumn(key, column);
+            }
+        });
+
+        query(KEYS_QUERY, parameters, rs -> {
+            String key = createKey(rs.getString(1), rs.getString(2), rs.getString(3));
+            if ("PRIMARY KEY".equals(rs.getString(5))) {
+                collector.markPrimaryKey(key, rs.getString(4));
+            } else if (rs.getString(8) != null) {
+                collector.markForeignKey(key, rs.getString(4), getTable(rs.getString(6), rs.getString(7), rs.getString(8)));
+            }
+        });
+    }
+
+    /**
+     * Create a data type description like the H2 JDBC driver reports it in
+     * java.sql.DatabaseMetaData#getColumns
+     *
+     * @param rs result set of the column query
+     * @return String representation of the data type of the column
+     * @throws SQLException if an error occurs
+     */
+    private String getTypeDescription(ResultSet rs) throws SQLException {
+        String typeName = rs.getString(5);
+        JDBCType type = TYPES.getOrDefault(typeName, JDBCType.OTHER);
+        long size = 0;
+        if (rs.getObject(6) != null) {
+            size = rs.getLong(6);
+        } else if (rs.getObject(7) != null) {
+            size = rs.getLong(7);
+        }
+        Integer fractionalDigits = rs.getObject(8) != null ? rs.getInt(8) : null;
+        return getTypeDescription(type, typeName, (int) Math.min(size, Integer.MAX_VALUE), fractionalDigits);
+    }
+}
@@ -0,0 +1,198 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Refreshes a previously retrieved model. The change markers of the tables are read from the
+ * system catalog (one query per schema); columns and keys are only retrieved again for tables whose
+ * marker has changed, which are new, or which referenced a table that does not exist anymore.
+ * All other tables of the previous model are kept, so that the references between the tables stay intact.
+ * <p>
+ * Change markers:
+ * <ul>
+ * <li>Oracle: ALL_OBJECTS.LAST_DDL_TIME</li>
+ * <li>MySQL: CREATE_TIME and UPDATE_TIME of information_schema.TABLES (UPDATE_TIME also changes with the data)</li>
+ * <li>PostgreSQL: transaction ids (xmin) of the rows in pg_class, pg_attribute and pg_constraint</li>
+ * </ul>
+ * For other dialects all tables are retrieved every time. Changes of comments only are not detected for
+ * PostgreSQL.
+ *
+ * @author Stefan Kuehnel
+ */
+public class IncrementalModelRetriever extends ERModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(IncrementalModelRetriever.class);
+
+    private static final Map<DB_DIALECT, String> CHANGE_MARKER_QUERIES = new EnumMap<>(DB_DIALECT.class);
+
+    static {
+        CHANGE_MARKER_QUERIES.put(DB_DIALECT.ORACLE, "SELECT object_name,"
+                + " TO_CHAR(last_ddl_time, 'YYYY-MM-DD HH24:MI:SS')"
+                + " FROM all_objects WHERE object_type IN ('TABLE', 'VIEW') AND owner = ?");
+        CHANGE_MARKER_QUERIES.put(DB_DIALECT.MYSQL, "SELECT TABLE_NAME,"
+                + " CONCAT_WS('|', CREATE_TIME, UPDATE_TIME)"
+                + " FROM information_schema.TABLES WHERE TABLE_SCHEMA = ?");
+        CHANGE_MARKER_QUERIES.put(DB_DIALECT.POSTGRESQL, "SELECT c.relname,"
+                + " c.xmin::text"
+                + " || ':' || COALESCE((SELECT max(a.xmin::text::bigint) FROM pg_catalog.pg_attribute a WHERE a.attrelid = c.oid), 0)"
+                + " || ':' || COALESCE((SELECT max(k.xmin::text::bigint) FROM pg_catalog.pg_constraint k WHERE k.conrelid = c.oid), 0)"
+                + " FROM pg_catalog.pg_class c JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace"
+                + " WHERE c.relkind IN " + PostgreSQLModelRetriever.RELATION_KINDS + " AND n.nspname = ?");
+    }
+
+    private final Map<String, Table> previousTables = new HashMap<>();
+
+    private Map<String, String> previousChangeMarkers = Collections.emptyMap();
+
+    private Map<String, String> changeMarkers;
+
+    /**
+     * Constructor
+     *
+     * @param jdbcConnection a {@link java.sql.Connection} object
+     * @param dbDialect      the dialect of the database
+     */
+    public IncrementalModelRetriever(Connection jdbcConnection, DB_DIALECT dbDialect) {
+        super(jdbcConnection, dbDialect);
+    }
+
+    /**
+     * Setter. The model to start from; if it is null or has no change markers, all tables are retrieved.
+     *
+     * @param previousModel a previously retrieved model
+     */
+    public void setPreviousModel(Model previousModel) {
+        previousTables.clear();
+        previousChangeMarkers = Collections.emptyMap();
+        if (previousModel != null && previousModel.getTableList() != null && previousModel.getChangeMarkers() != null) {
+            for (Table table : previousModel.getTableList()) {
+                previousTables.put(getMarkerKey(table.getCatalogName(), table.getSchemaName(), table.getSimpleName()), table);
+                registerTable(table);
+                if (table.getColumns() != null) {
+                    for (Column column : table.getColumns()) {
+                        if (column.getForeignKeyTable() != null) {
+                            registerTable(column.getForeignKeyTable());
+                        }
+                    }
+                }
+            }
+            previousChangeMarkers = previousModel.getChangeMarkers();
+        }
+    }
+
+    @Override
+    public Model getModel(String catalog, String schema) throws SQLException {
+        changeMarkers = CHANGE_MARKER_QUERIES.containsKey(dbDialect) ? new HashMap<>() : null;
+        if (changeMarkers == null) {
+            LOGGER.warn("Incremental refresh is not supported for {}; retrieving all tables.", dbDialect.getValue());
+        }
+        Model model = super.getModel(catalog, schema);
+        model.setChangeMarkers(changeMarkers);
+        return model;
+    }
+
+    @Override
+    protected List<Table> retrieveSchemas(DatabaseMetaData databaseMetaData, List<SchemaReference> schemas) throws SQLException {
+        List<Table> tables = new ArrayList<>();
+        Map<Table, SchemaReference> keptTables = new IdentityHashMap<>();
+        int retrieved = 0;
+        for (SchemaReference schemaReference : schemas) {
+            String catalog = schemaReference.catalog();
+            String schema = schemaReference.schema();
+            Map<String, String> markers = getChangeMarkers(catalog, schema);
+            for (Map.Entry<String, String> tableEntry : getTableNames(databaseMetaData, catalog, schema).entrySet()) {
+                String markerKey = getMarkerKey(catalog, schema, tableEntry.getKey());
+                String marker = markers.get(tableEntry.getKey());
+                if (marker != null && changeMarkers != null) {
+                    changeMarkers.put(markerKey, marker);
+                }
+                Table previousTable = previousTables.get(markerKey);
+                if (previousTable != null && marker != null && marker.equals(previousChangeMarkers.get(markerKey))) {
+                    previousTable.setComment(tableEntry.getValue());
+                    keptTables.put(previousTable, schemaReference);
+                    tables.add(previousTable);
+                } else {
+                    tables.add(retrieveTable(databaseMetaData, catalog, schema, tableEntry.getKey(), tableEntry.getValue()));
+                    retrieved++;
+                }
+            }
+        }
+        Set<Table> removedTables = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedTables.addAll(previousTables.values());
+        tables.forEach(removedTables::remove);
+        if (!removedTables.isEmpty()) {
+            for (int i = 0; i < tables.size(); i++) {
+                Table table = tables.get(i);
+                if (keptTables.containsKey(table) && referencesAny(table, removedTables)) {
+                    SchemaReference schemaReference = keptTables.get(table);
+                    LOGGER.debug("Table {} referenced a removed table.", table.getName());
+                    tables.set(i, retrieveTable(databaseMetaData, schemaReference.catalog(), schemaReference.schema(),
+                            table.getSimpleName(), table.getComment()));
+                    retrieved++;
+                }
+            }
+        }
+        LOGGER.info("Incremental refresh: {} of {} tables retrieved, {} tables removed.", retrieved, tables.size(),
+                removedTables.size());
+        return tables;
+    }
+
+    private boolean referencesAny(Table table, Set<Table> removedTables) {
+        if (table.getColumns() != null) {
+            for (Column column : table.getColumns()) {
+                if (column.getForeignKeyTable() != null && removedTables.contains(column.getForeignKeyTable())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Read the change markers of the tables of a schema
+     *
+     * @return map of table names to change markers; empty, if the dialect has no change markers
+     */
+    private Map<String, String> getChangeMarkers(String catalog, String schema) throws SQLException {
+        Map<String, String> markers = new HashMap<>();
+        String owner = schema != null ? schema : catalog;
+        String sql = CHANGE_MARKER_QUERIES.get(dbDialect);
+        if (sql == null || owner == null) {
+            return markers;
+        }
+        try (PreparedStatement statement = jdbcConnection.prepareStatement(sql)) {
+            statement.setString(1, owner);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    markers.put(resultSet.getString(1), resultSet.getString(2));
+                }
+            }
+        }
+        return markers;
+    }
+
+    private String getMarkerKey(String catalog, String schema, String tableName) {
+        return createKey(schema != null ? null : catalog, schema, tableName);
+    }
+}
@@ -69,7 +69,25 @@ public class JDBCConnection {
         return connection;
     }
 
+    /**
+     * Open an additional connection to the database with the same settings
+     *
+     * @return a new {@link java.sql.Connection} object
+     * @throws ConnectionException if the connection could not be established
+     */
+    public Connection openConnection() throws ConnectionException {
+        try {
+            return connect();
+        } catch (Exception e) {
+            throw new ConnectionException("Could not open an additional database connection.", e);
+        }
+    }
+
     protected void initialize() throws ClassNotFoundException, MalformedURLException, SQLException, InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
+        connection = connect();
+    }
+
+    private Connection connect() throws ClassNotFoundException, MalformedURLException, SQLException, InstantiationException, IllegalAccessException, NoSuchMethodException, InvocationTargetException {
         if (StringUtils.isNotEmpty(driverPath)) {
             LOGGER.debug("Trying to load JBDC driver from path {}", driverPath);
             URL urls[] = {new File(driverPath).toURI().toURL()};
@@ -80,12 +98,12 @@ public class JDBCConnection {
             Properties connectionProperies = new Properties();
             connectionProperies.setProperty("user", user);
             connectionProperies.setProperty("password", password);
-            connection = d.connect(url, connectionProperies);
+            return d.connect(url, connectionProperies);
 
         } else {
             LOGGER.debug("Load driver from classpath and connect by DriverManager.");
             Class.forName(driver);
-            connection = DriverManager.getConnection(url, user, password);
+            return DriverManager.getConnection(url, user, password);
         }
 
     }
@@ -0,0 +1,232 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates a regular expression for table names into SQL LIKE patterns, which can be passed as
+ * tableNamePattern to the metadata calls.
+ * <p>
+ * The patterns select a superset of the names matched by the regular expression; the regular expression
+ * still has to be applied to the result. Supported are literals, escaped literals (e.g. \.), . (any character),
+ * .* and .+, anchors and top level alternatives. An alternative is cut off with % at the first construct which
+ * cannot be translated, e.g. "ORDER[0-9]+" becomes "ORDER%".
+ *
+ * @author Stefan Kuehnel
+ */
+final class LikePatterns {
+
+    private static final String METACHARACTERS = "*+?{}[]()|^$";
+
+    private LikePatterns() {
+    }
+
+    /**
+     * Translate a regular expression into LIKE patterns
+     *
+     * @param regex  the regular expression
+     * @param escape the escape string for LIKE patterns (see java.sql.DatabaseMetaData#getSearchStringEscape);
+     *               if null or empty, the wildcards % and _ in names are matched by _
+     * @return list of LIKE patterns, or null if the regular expression would match (nearly) all names
+     */
+    static List<String> fromRegex(String regex, String escape) {
+        if (regex == null) {
+            return null;
+        }
+        List<String> alternatives = splitAlternatives(regex);
+        if (alternatives == null) {
+            return null;
+        }
+        Set<String> patterns = new LinkedHashSet<>();
+        for (String alternative : alternatives) {
+            String body = stripAnchors(alternative);
+            String group = unwrapGroup(body);
+            if (group != null) {
+                List<String> groupPatterns = fromRegex(group, escape);
+                if (groupPatterns == null) {
+                    return null;
+                }
+                patterns.addAll(groupPatterns);
+            } else {
+                String pattern = translate(body, escape);
+                if (pattern.startsWith("%")) {
+                    return null;
+                }
+                patterns.add(pattern);
+            }
+        }
+        return new ArrayList<>(patterns);
+    }
+
+    /**
+     * Escape a name, so that the LIKE pattern matches it literally
+     *
+     * @param name   the name
+     * @param escape the escape string for LIKE patterns; if null or empty, the wildcards % and _ are replaced by _
+     * @return the LIKE pattern
+     */
+    static String escape(String name, String escape) {
+        StringBuilder pattern = new StringBuilder();
+        for (int i = 0; i < name.length(); i++) {
+            appendLiteral(pattern, name.charAt(i), escape);
+        }
+        return pattern.toString();
+    }
+
+    /**
+     * Split at | outside of groups and character classes
+     *
+     * @return the alternatives or null, if the expression is not well formed
+     */
+    private static List<String> splitAlternatives(String regex) {
+        List<String> alternatives = new ArrayList<>();
+        int depth = 0;
+        boolean inClass = false;
+        int start = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth < 0) {
+                    return null;
+                }
+            } else if (c == '|' && depth == 0) {
+                alternatives.add(regex.substring(start, i));
+                start = i + 1;
+            }
+        }
+        if (depth != 0 || inClass) {
+            return null;
+        }
+        alternatives.add(regex.substring(start));
+        return alternatives;
+    }
+
+    private static String stripAnchors(String alternative) {
+        String result = alternative;
+        if (result.startsWith("^")) {
+            result = result.substring(1);
+        }
+        if (result.endsWith("$") && !result.endsWith("\\$")) {
+            result = result.substring(0, result.length() - 1);
+        }
+        return result;
+    }
+
+    /**
+     * @return the content of a group (...) or (?:...) spanning the whole alternative, otherwise null
+     */
+    private static String unwrapGroup(String alternative) {
+        int offset;
+        if (alternative.startsWith("(?:")) {
+            offset = 3;
+        } else if (alternative.startsWith("(") && !alternative.startsWith("(?")) {
+            offset = 1;
+        } else {
+            return null;
+        }
+        if (!alternative.endsWith(")")) {
+            return null;
+        }
+        String content = alternative.substring(offset, alternative.length() - 1);
+        // the closing parenthesis must belong to the opening one, e.g. not "(A)_(B)"
+        return splitAlternatives(content) != null && closesAtEnd(alternative) ? content : null;
+    }
+
+    private static boolean closesAtEnd(String alternative) {
+        int depth = 0;
+        boolean inClass = false;
+        for (int i = 0; i < alternative.length(); i++) {
+            char c = alternative.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (inClass) {
+                inClass = c != ']';
+            } else if (c == '[') {
+                inClass = true;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+                if (depth == 0) {
+                    return i == alternative.length() - 1;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String translate(String alternative, String escape) {
+        StringBuilder pattern = new StringBuilder();
+        int lastUnit = 0;
+        boolean wildcardBeforeLastUnit = false;
+        boolean endsWithWildcard = false;
+        int i = 0;
+        while (i < alternative.length()) {
+            char c = alternative.charAt(i);
+            char next = i + 1 < alternative.length() ? alternative.charAt(i + 1) : 0;
+            int unit = pattern.length();
+            boolean wildcardBeforeUnit = endsWithWildcard;
+            if (c == '.' && (next == '*' || next == '?')) {
+                if (!endsWithWildcard) {
+                    pattern.append('%');
+                }
+                endsWithWildcard = true;
+                i += 2;
+            } else if (c == '.' && next == '+') {
+                pattern.append(endsWithWildcard ? "_" : "_%");
+                endsWithWildcard = true;
+                i += 2;
+            } else if (c == '.') {
+                pattern.append('_');
+                endsWithWildcard = false;
+                i++;
+            } else if (c == '\\' && next != 0 && !Character.isLetterOrDigit(next)) {
+                appendLiteral(pattern, next, escape);
+                endsWithWildcard = false;
+                i += 2;
+            } else if (c == '\\' || METACHARACTERS.indexOf(c) >= 0) {
+                if (c == '*' || c == '+' || c == '?' || c == '{') {
+                    // the quantifier applies to the previous unit
+                    pattern.setLength(lastUnit);
+                    endsWithWildcard = wildcardBeforeLastUnit;
+                }
+                if (!endsWithWildcard) {
+                    pattern.append('%');
+                }
+                return pattern.toString();
+            } else {
+                appendLiteral(pattern, c, escape);
+                endsWithWildcard = false;
+                i++;
+            }
+            lastUnit = unit;
+            wildcardBeforeLastUnit = wildcardBeforeUnit;
+        }
+        return pattern.toString();
+    }
+
+    private static void appendLiteral(StringBuilder pattern, char c, String escape) {
+        boolean hasEscape = escape != null && !escape.isEmpty();
+        if (c == '%' || c == '_' || (hasEscape && escape.indexOf(c) >= 0)) {
+            if (hasEscape) {
+                pattern.append(escape);
+                pattern.append(c);
+            } else {
+                pattern.append('_');
+            }
+        } else {
+            pattern.append(c);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.commons.text.StringEscapeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records every call of {@link DatabaseMetaData} which returns a result set: the latency (from the call
+ * until the result set is closed, i.e. including the transfer of the rows), the number of rows and the
+ * table it refers to. The summary contains percentiles of the latency per call type, the slowest tables
+ * and the total number of round trips.
+ * <p>
+ * The recording is thread safe, so one instance can be shared by the connections of a parallel retrieval.
+ *
+ * @author Stefan Kuehnel
+ */
+public class MetadataStatistics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MetadataStatistics.class);
+
+    private static final int SLOWEST_TABLES = 20;
+
+    /**
+     * Calls whose third argument is a table name (pattern); null means schema wide
+     */
+    private static final Set<String> TABLE_CALLS = Set.of("getTables", "getColumns", "getPrimaryKeys",
+            "getImportedKeys", "getExportedKeys", "getIndexInfo", "getBestRowIdentifier", "getVersionColumns",
+            "getTablePrivileges", "getColumnPrivileges", "getPseudoColumns");
+
+    private final ConcurrentLinkedQueue<Call> calls = new ConcurrentLinkedQueue<>();
+
+    private record Call(String method, String table, long nanos, long rows, boolean failed) {
+    }
+
+    private record TableTotal(String table, long nanos, int calls, long rows) {
+    }
+
+    /**
+     * Wrap the metadata of a connection, so that its calls are recorded
+     *
+     * @param databaseMetaData the metadata
+     * @return a proxy recording the calls
+     */
+    public DatabaseMetaData instrument(DatabaseMetaData databaseMetaData) {
+        return (DatabaseMetaData) Proxy.newProxyInstance(DatabaseMetaData.class.getClassLoader(),
+                new Class<?>[]{DatabaseMetaData.class}, (proxy, method, args) -> {
+                    if (method.getReturnType() != ResultSet.class) {
+                        return invoke(databaseMetaData, method, args);
+                    }
+                    String table = getTable(method, args);
+                    long start = System.nanoTime();
+                    ResultSet resultSet;
+                    try {
+                        resultSet = (ResultSet) invoke(databaseMetaData, method, args);
+                    } catch (Throwable t) {
+                        calls.add(new Call(method.getName(), table, System.nanoTime() - start, 0, true));
+                        throw t;
+                    }
+                    if (resultSet == null) {
+                        calls.add(new Call(method.getName(), table, System.nanoTime() - start, 0, false));
+                        return null;
+                    }
+                    return countRows(resultSet, method.getName(), table, start);
+                });
+    }
+
+    private ResultSet countRows(ResultSet resultSet, String method, String table, long start) {
+        long[] rows = {0};
+        AtomicBoolean closed = new AtomicBoolean();
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, (proxy, resultSetMethod, args) -> {
+                    if ("close".equals(resultSetMethod.getName()) && closed.compareAndSet(false, true)) {
+                        try {
+                            return invoke(resultSet, resultSetMethod, args);
+                        } finally {
+                            calls.add(new Call(method, table, System.nanoTime() - start, rows[0], false));
+                        }
+                    }
+                    Object result = invoke(resultSet, resultSetMethod, args);
+                    if ("next".equals(resultSetMethod.getName()) && Boolean.TRUE.equals(result)) {
+                        rows[0]++;
+                    }
+                    return result;
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static String getTable(Method method, Object[] args) {
+        if (!TABLE_CALLS.contains(method.getName()) || args == null || args.length < 3) {
+            return null;
+        }
+        String schema = args[1] instanceof String ? (String) args[1] : (String) args[0];
+        String table = args[2] instanceof String ? (String) args[2] : "*";
+        return schema != null ? schema + "." + table : table;
+    }
+
+    /**
+     * @return number of recorded calls, i.e. round trips to the database
+     */
+    public int getRoundTrips() {
+        return calls.size();
+    }
+
+    /**
+     * Log the summary at INFO level
+     */
+    public void logSummary() {
+        List<Call> snapshot = new ArrayList<>(calls);
+        LOGGER.info("Metadata calls: {} round trips, {} ms in total.", snapshot.size(), toMillis(totalNanos(snapshot)));
+        for (Map.Entry<String, List<Call>> entry : groupByMethod(snapshot).entrySet()) {
+            long[] percentiles = getPercentiles(entry.getValue());
+            LOGGER.info("  {}: {} calls, {} rows, p50 {} ms, p90 {} ms, p99 {} ms, max {} ms, {} failed",
+                    entry.getKey(), entry.getValue().size(), totalRows(entry.getValue()), toMillis(percentiles[0]),
+                    toMillis(percentiles[1]), toMillis(percentiles[2]), toMillis(percentiles[3]), failed(entry.getValue()));
+        }
+        List<TableTotal> slowestTables = getSlowestTables(snapshot);
+        if (!slowestTables.isEmpty()) {
+            LOGGER.info("Slowest tables:");
+            for (TableTotal tableTotal : slowestTables) {
+                LOGGER.info("  {}: {} ms in {} calls, {} rows", tableTotal.table(), toMillis(tableTotal.nanos()),
+                        tableTotal.calls(), tableTotal.rows());
+            }
+        }
+    }
+
+    /**
+     * Write the summary as JSON file
+     *
+     * @param file the file
+     * @throws IOException if the file cannot be written
+     */
+    public void writeJson(Path file) throws IOException {
+        Files.writeString(file, toJson(), StandardCharsets.UTF_8);
+        LOGGER.info("Metadata call statistics written to {}.", file);
+    }
+
+    /**
+     * The summary in JSON format
+     *
+     * @return a JSON object with the fields roundTrips, totalMillis, calls (per call type) and slowestTables
+     */
+    public String toJson() {
+        List<Call> snapshot = new ArrayList<>(calls);
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"roundTrips\": ").append(snapshot.size()).append(",\n");
+        json.append("  \"totalMillis\": ").append(toMillis(totalNanos(snapshot))).append(",\n");
+        json.append("  \"calls\": {");
+        String separator = "\n";
+        for (Map.Entry<String, List<Call>> entry : groupByMethod(snapshot).entrySet()) {
+            long[] percentiles = getPercentiles(entry.getValue());
+            json.append(separator);
+            json.append("    \"").append(entry.getKey()).append("\": {");
+            json.append("\"count\": ").append(entry.getValue().size());
+            json.append(", \"rows\": ").append(totalRows(entry.getValue()));
+            json.append(", \"failed\": ").append(failed(entry.getValue()));
+            json.append(", \"totalMillis\": ").append(toMillis(totalNanos(entry.getValue())));
+            json.append(", \"p50Millis\": ").append(toMillis(percentiles[0]));
+            json.append(", \"p90Millis\": ").append(toMillis(percentiles[1]));
+            json.append(", \"p99Millis\": ").append(toMillis(percentiles[2]));
+            json.append(", \"maxMillis\": ").append(toMillis(percentiles[3]));
+            json.append("}");
+            separator = ",\n";
+        }
+        json.append("\n  },\n");
+        json.append("  \"slowestTables\": [");
+        separator = "\n";
+        for (TableTotal tableTotal : getSlowestTables(snapshot)) {
+            json.append(separator);
+            json.append("    {\"table\": \"").append(StringEscapeUtils.escapeJson(tableTotal.table())).append("\"");
+            json.append(", \"totalMillis\": ").append(toMillis(tableTotal.nanos()));
+            json.append(", \"calls\": ").append(tableTotal.calls());
+            json.append(", \"rows\": ").append(tableTotal.rows());
+            json.append("}");
+            separator = ",\n";
+        }
+        json.append("\n  ]\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    private static Map<String, List<Call>> groupByMethod(List<Call> calls) {
+        Map<String, List<Call>> callsByMethod = new TreeMap<>();
+        for (Call call : calls) {
+            callsByMethod.computeIfAbsent(call.method(), m -> new ArrayList<>()).add(call);
+        }
+        return callsByMethod;
+    }
+
+    /**
+     * @return p50, p90, p99 and maximum of the latency in nanoseconds (nearest rank)
+     */
+    private static long[] getPercentiles(List<Call> calls) {
+        long[] nanos = calls.stream().mapToLong(Call::nanos).sorted().toArray();
+        return new long[]{percentile(nanos, 50), percentile(nanos, 90), percentile(nanos, 99), nanos[nanos.length - 1]};
+    }
+
+    /**
+     * @return the percentile of sorted values by the nearest rank method
+     */
+    static long percentile(long[] sortedValues, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sortedValues.length);
+        return sortedValues[Math.max(0, rank - 1)];
+    }
+
+    private static List<TableTotal> getSlowestTables(List<Call> calls) {
+        Map<String, TableTotal> totals = new TreeMap<>();
+        for (Call call : calls) {
+            if (call.table() != null) {
+                totals.merge(call.table(), new TableTotal(call.table(), call.nanos(), 1, call.rows()),
+                        (a, b) -> new TableTotal(a.table(), a.nanos() + b.nanos(), a.calls() + b.calls(), a.rows() + b.rows()));
+            }
+        }
+        return totals.values().stream()
+                .sorted(Comparator.comparingLong(TableTotal::nanos).reversed())
+                .limit(SLOWEST_TABLES)
+                .toList();
+    }
+
+    private static long totalNanos(List<Call> calls) {
+        return calls.stream().mapToLong(Call::nanos).sum();
+    }
+
+    private static long totalRows(List<Call> calls) {
+        return calls.stream().mapToLong(Call::rows).sum();
+    }
+
+    private static long failed(List<Call> calls) {
+        return calls.stream().filter(Call::failed).count();
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+    }
+}
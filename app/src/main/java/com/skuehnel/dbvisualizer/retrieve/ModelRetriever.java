@@ -0,0 +1,60 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+import com.skuehnel.dbvisualizer.domain.Model;
+
+/**
+ * Interface of the model retrievers
+ *
+ * @author Stefan Kuehnel
+ */
+public interface ModelRetriever {
+
+    /**
+     * Retrieve the model from the database
+     *
+     * @param catalog Catalog in which the schema(s) for which a model should be created are located. May be null
+     * @param schema  Schema for which the model shall be created
+     * @return the model
+     * @throws SQLException if an error occurs
+     */
+    Model getModel(String catalog, String schema) throws SQLException;
+
+    /**
+     * Setter. Set the filter for table names.
+     *
+     * @param filter new value for the table name filter pattern
+     */
+    void setFilter(Pattern filter);
+
+    /**
+     * Getter. The current filter pattern for table names
+     *
+     * @return the filter pattern for table names
+     */
+    Pattern getFilter();
+
+    /**
+     * Setter. If no schema is given, retrieve the tables of the system schemas
+     * (e.g. pg_catalog or information_schema) as well.
+     *
+     * @param includeSystemSchemas true, if the system schemas shall not be skipped
+     */
+    void setIncludeSystemSchemas(boolean includeSystemSchemas);
+
+    /**
+     * Getter. Are the system schemas included if no schema is given?
+     *
+     * @return true, if the system schemas are not skipped
+     */
+    boolean isIncludeSystemSchemas();
+
+    /**
+     * Setter. Record the metadata calls of the retrieval.
+     *
+     * @param metadataStatistics the statistics to record the calls in; null disables the recording
+     */
+    void setMetadataStatistics(MetadataStatistics metadataStatistics);
+}
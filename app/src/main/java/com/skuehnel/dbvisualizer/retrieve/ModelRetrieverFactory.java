@@ -0,0 +1,58 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+import com.skuehnel.dbvisualizer.util.RETRIEVAL_MODE;
+
+/**
+ * Factory for the different implementations of the model retriever
+ */
+public class ModelRetrieverFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelRetrieverFactory.class);
+
+    public static ModelRetriever createModelRetrieverInstance(JDBCConnection jdbcConnection, DB_DIALECT dialect, RETRIEVAL_MODE mode,
+                                                              int parallelism, int timeout) {
+        Connection connection = jdbcConnection.getConnection();
+        if (mode == RETRIEVAL_MODE.PARALLEL || mode == RETRIEVAL_MODE.VIRTUAL_THREADS) {
+            ParallelModelRetriever retriever = mode == RETRIEVAL_MODE.PARALLEL
+                    ? new ParallelModelRetriever(jdbcConnection, dialect, parallelism)
+                    : new VirtualThreadModelRetriever(jdbcConnection, dialect, parallelism);
+            retriever.setTimeout(timeout);
+            return retriever;
+        }
+        if (timeout > 0) {
+            LOGGER.warn("The timeout is only enforced in the retrieval modes {} and {}; ignoring it in mode {}.",
+                    RETRIEVAL_MODE.PARALLEL, RETRIEVAL_MODE.VIRTUAL_THREADS, mode);
+        }
+        if (mode == RETRIEVAL_MODE.CATALOG) {
+            switch (dialect) {
+                case POSTGRESQL:
+                    return new PostgreSQLModelRetriever(connection);
+                case ORACLE:
+                    return new OracleModelRetriever(connection);
+                case MYSQL:
+                    return new MySQLModelRetriever(connection);
+                case H2:
+                    return new H2ModelRetriever(connection);
+                case SQLITE:
+                    return new SQLiteModelRetriever(connection);
+                default:
+                    LOGGER.warn("No catalog retriever available for {}. Using retrieval mode {} instead.",
+                            dialect.getValue(), RETRIEVAL_MODE.BULK);
+                    mode = RETRIEVAL_MODE.BULK;
+                    break;
+            }
+        }
+        if (mode == RETRIEVAL_MODE.INCREMENTAL) {
+            return new IncrementalModelRetriever(connection, dialect);
+        }
+        ERModelRetriever retriever = new ERModelRetriever(connection, dialect);
+        retriever.setRetrievalMode(mode);
+        return retriever;
+    }
+}
@@ -0,0 +1,202 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Retrieves the model of a MySQL database from information_schema.
+ * TABLES, COLUMNS and TABLE_CONSTRAINTS joined with KEY_COLUMN_USAGE are read with one
+ * streaming query each; the model is assembled in a single pass over each result set.
+ * <p>
+ * The database is taken from the schema or the catalog; if neither is given, all databases
+ * are retrieved, except for the system databases.
+ *
+ * @author Stefan Kuehnel
+ */
+public class MySQLModelRetriever extends AbstractCatalogModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(MySQLModelRetriever.class);
+
+    private static final String SCHEMAS_QUERY = "SELECT SCHEMA_NAME FROM information_schema.SCHEMATA ORDER BY SCHEMA_NAME";
+
+    private static final String TABLES_QUERY = "SELECT TABLE_SCHEMA, TABLE_NAME, TABLE_COMMENT"
+            + " FROM information_schema.TABLES"
+            + " WHERE TABLE_SCHEMA = ? AND TABLE_TYPE IN ('BASE TABLE', 'VIEW')"
+            + " ORDER BY TABLE_TYPE, TABLE_NAME";
+
+    private static final String COLUMNS_QUERY = "SELECT TABLE_SCHEMA, TABLE_NAME, COLUMN_NAME, DATA_TYPE, COLUMN_TYPE,"
+            + " CHARACTER_MAXIMUM_LENGTH, NUMERIC_PRECISION, NUMERIC_SCALE, IS_NULLABLE, COLUMN_COMMENT"
+            + " FROM information_schema.COLUMNS"
+            + " WHERE TABLE_SCHEMA = ?"
+            + " ORDER BY TABLE_NAME, ORDINAL_POSITION";
+
+    private static final String KEYS_QUERY = "SELECT k.TABLE_SCHEMA, k.TABLE_NAME, k.COLUMN_NAME, tc.CONSTRAINT_TYPE,"
+            + " k.REFERENCED_TABLE_SCHEMA, k.REFERENCED_TABLE_NAME"
+            + " FROM information_schema.TABLE_CONSTRAINTS tc"
+            + " JOIN information_schema.KEY_COLUMN_USAGE k ON k.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA"
+            + " AND k.CONSTRAINT_NAME = tc.CONSTRAINT_NAME AND k.TABLE_SCHEMA = tc.TABLE_SCHEMA"
+            + " AND k.TABLE_NAME = tc.TABLE_NAME"
+            + " WHERE tc.TABLE_SCHEMA = ? AND tc.CONSTRAINT_TYPE IN ('PRIMARY KEY', 'FOREIGN KEY')";
+
+    /**
+     * Mapping of the MySQL type names to JDBC types (as reported by MySQL Connector/J)
+     */
+    private static final Map<String, JDBCType> TYPES = Map.ofEntries(
+            Map.entry("char", JDBCType.CHAR),
+            Map.entry("varchar", JDBCType.VARCHAR),
+            Map.entry("tinytext", JDBCType.VARCHAR),
+            Map.entry("text", JDBCType.LONGVARCHAR),
+            Map.entry("mediumtext", JDBCType.LONGVARCHAR),
+            Map.entry("longtext", JDBCType.LONGVARCHAR),
+            Map.entry("json", JDBCType.LONGVARCHAR),
+            Map.entry("enum", JDBCType.CHAR),
+            Map.entry("set", JDBCType.CHAR),
+            Map.entry("decimal", JDBCType.DECIMAL),
+            Map.entry("float", JDBCType.REAL),
+            Map.entry("double", JDBCType.DOUBLE),
+            Map.entry("tinyint", JDBCType.TINYINT),
+            Map.entry("smallint", JDBCType.SMALLINT),
+            Map.entry("mediumint", JDBCType.INTEGER),
+            Map.entry("int", JDBCType.INTEGER),
+            Map.entry("bigint", JDBCType.BIGINT),
+            Map.entry("bit", JDBCType.BIT),
+            Map.entry("date", JDBCType.DATE),
+            Map.entry("year", JDBCType.DATE),
+            Map.entry("time", JDBCType.TIME),
+            Map.entry("datetime", JDBCType.TIMESTAMP),
+            Map.entry("timestamp", JDBCType.TIMESTAMP),
+            Map.entry("binary", JDBCType.BINARY),
+            Map.entry("varbinary", JDBCType.VARBINARY),
+            Map.entry("tinyblob", JDBCType.VARBINARY),
+            Map.entry("blob", JDBCType.LONGVARBINARY),
+            Map.entry("mediumblob", JDBCType.LONGVARBINARY),
+            Map.entry("longblob", JDBCType.LONGVARBINARY));
+
+    /**
+     * Constructor
+     *
+     * @param jdbcConnection a {@link java.sql.Connection} object
+     */
+    public MySQLModelRetriever(Connection jdbcConnection) {
+        super(jdbcConnection, DB_DIALECT.MYSQL);
+    }
+
+    @Override
+    protected List<String> getSchemas(String catalog, String schema) throws SQLException {
+        // a catalog is a database, too
+        return catalog != null ? null : super.getSchemas(catalog, schema);
+    }
+
+    @Override
+    protected String getSchemasQuery() {
+        return SCHEMAS_QUERY;
+    }
+
+    @Override
+    protected void retrieveTables(TableCollector collector, String catalog, String schema) throws SQLException {
+        // getSchemas supplies the database as schema unless it is given as the catalog
+        List<String> parameters = List.of(schema != null ? schema : catalog);
+
+        query(TABLES_QUERY, parameters, rs ->
+                addTable(collector, getCatalog(catalog, schema, rs.getString(1)), getSchema(schema, rs.getString(1)),
+                        rs.getString(2), rs.getString(3)));
+
+        query(COLUMNS_QUERY, parameters, rs -> {
+            String key = createKey(getCatalog(catalog, schema, rs.getString(1)), getSchema(schema, rs.getString(1)),
+                    rs.getString(2));
+            if (collector.containsTable(key)) {
+                String dataType = getTypeDescription(rs);
+                Column column = newColumn(rs.getString(3), dataType);
+                column.setNotNull("NO".equals(rs.getString(9)));
+                column.setComment(intern(rs.getString(10)));
+                LOGGER.debug("Column: '{}', Type: '{}'", column.getName(), dataType);
+                collector.addColumn(key, column);
+            }
+        });
+
+        query(KEYS_QUERY, parameters, rs -> {
+            String key = createKey(getCatalog(catalog, schema, rs.getString(1)), getSchema(schema, rs.getString(1)),
+                    rs.getString(2));
+            if ("PRIMARY KEY".equals(rs.getString(4))) {
+                collector.markPrimaryKey(key, rs.getString(3));
+            } else if (rs.getString(6) != null) {
+                collector.markForeignKey(key, rs.getString(3), getTable(getCatalog(catalog, schema, rs.getString(5)),
+                        getSchema(schema, rs.getString(5)), rs.getString(6)));
+            }
+        });
+    }
+
+    /**
+     * Catalog of a table in a database. A database given as the catalog is the catalog of its tables,
+     * so the tables are named like {@link ERModelRetriever} names them (database.table, not database.database.table).
+     *
+     * @param catalog  the required catalog (may be null)
+     * @param schema   the required schema (may be null)
+     * @param database the database of the table
+     * @return the catalog of the table
+     */
+    private static String getCatalog(String catalog, String schema, String database) {
+        return schema != null ? catalog : database;
+    }
+
+    /**
+     * Schema of a table in a database: the database, unless it is given as the catalog
+     *
+     * @param schema   the required schema (may be null)
+     * @param database the database of the table
+     * @return the schema of the table
+     */
+    private static String getSchema(String schema, String database) {
+        return schema != null ? database : null;
+    }
+
+    /**
+     * Forward only, read only statements with a fetch size of Integer.MIN_VALUE let
+     * MySQL Connector/J stream the rows instead of reading the complete result into memory.
+     */
+    @Override
+    protected PreparedStatement prepareStatement(String sql) throws SQLException {
+        PreparedStatement statement = jdbcConnection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(Integer.MIN_VALUE);
+        return statement;
+    }
+
+    /**
+     * Create a data type description like MySQL Connector/J reports it in
+     * java.sql.DatabaseMetaData#getColumns
+     *
+     * @param rs result set of the column query
+     * @return String representation of the data type of the column
+     * @throws SQLException if an error occurs
+     */
+    private String getTypeDescription(ResultSet rs) throws SQLException {
+        String dataType = rs.getString(4);
+        JDBCType type = TYPES.getOrDefault(dataType, JDBCType.OTHER);
+        String typeName = dataType.toUpperCase();
+        String columnType = rs.getString(5);
+        if (columnType != null && columnType.contains("unsigned")) {
+            typeName = typeName + " UNSIGNED";
+        }
+        long size = 0;
+        if (rs.getObject(6) != null) {
+            size = rs.getLong(6);
+        } else if (rs.getObject(7) != null) {
+            size = rs.getLong(7);
+        }
+        Integer fractionalDigits = rs.getObject(8) != null ? rs.getInt(8) : null;
+        return getTypeDescription(type, typeName, (int) Math.min(size, Integer.MAX_VALUE), fractionalDigits);
+    }
+}
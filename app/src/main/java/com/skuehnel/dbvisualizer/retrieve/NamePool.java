@@ -0,0 +1,73 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool of the names (and type descriptions) of one retrieval. Equal strings read from the database
+ * are replaced by one shared instance, e.g. the column name "ID" of all tables or the schema name
+ * of all tables of a schema. Unlike {@link String#intern()} the pool is released together with the retriever.
+ * <p>
+ * The memory saved is estimated from the size of the duplicates which have been replaced
+ * (assuming compact strings and compressed references).
+ *
+ * @author Stefan Kuehnel
+ */
+class NamePool {
+
+    private static final int STRING_SIZE = 24;
+    private static final int ARRAY_HEADER_SIZE = 16;
+
+    private final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder savedBytes = new LongAdder();
+
+    /**
+     * Get the shared instance of a string
+     *
+     * @param value the string (may be null)
+     * @return an equal string from the pool
+     */
+    String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String pooled = names.putIfAbsent(value, value);
+        if (pooled == null) {
+            return value;
+        }
+        if (pooled != value) {
+            duplicates.increment();
+            savedBytes.add(estimateSize(value));
+        }
+        return pooled;
+    }
+
+    /**
+     * @return number of distinct strings in the pool
+     */
+    int size() {
+        return names.size();
+    }
+
+    /**
+     * @return number of strings which have been replaced by a pooled instance
+     */
+    long getDuplicates() {
+        return duplicates.sum();
+    }
+
+    /**
+     * @return estimated heap memory of the replaced strings in bytes
+     */
+    long getSavedBytes() {
+        return savedBytes.sum();
+    }
+
+    static long estimateSize(String value) {
+        boolean latin1 = value.chars().allMatch(c -> c <= 0xFF);
+        long arraySize = ARRAY_HEADER_SIZE + (latin1 ? value.length() : 2L * value.length());
+        return STRING_SIZE + ((arraySize + 7) & ~7L);
+    }
+}
@@ -0,0 +1,159 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Retrieves the model of an Oracle database from the data dictionary views.
+ * There is one query per dictionary view (ALL_TABLES, ALL_VIEWS, ALL_TAB_COMMENTS,
+ * ALL_TAB_COLUMNS, ALL_COL_COMMENTS and ALL_CONSTRAINTS joined with ALL_CONS_COLUMNS),
+ * regardless of the number of tables. Comments are read without the expensive
+ * "remarksReporting" mode of the Oracle JDBC driver.
+ * <p>
+ * If no schema is given, all schemas containing tables or views are retrieved, except for the system schemas.
+ *
+ * @author Stefan Kuehnel
+ */
+public class OracleModelRetriever extends AbstractCatalogModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(OracleModelRetriever.class);
+
+    private static final String SCHEMAS_QUERY = "SELECT DISTINCT owner FROM all_objects"
+            + " WHERE object_type IN ('TABLE', 'VIEW') ORDER BY owner";
+
+    private static final String TABLES_QUERY = "SELECT owner, table_name FROM all_tables"
+            + " WHERE owner = ? AND dropped = 'NO' AND nested = 'NO' ORDER BY table_name";
+
+    private static final String VIEWS_QUERY = "SELECT owner, view_name FROM all_views"
+            + " WHERE owner = ? ORDER BY view_name";
+
+    private static final String TABLE_COMMENTS_QUERY = "SELECT owner, table_name, comments FROM all_tab_comments"
+            + " WHERE owner = ? AND comments IS NOT NULL";
+
+    private static final String COLUMNS_QUERY = "SELECT owner, table_name, column_name, data_type, data_length,"
+            + " data_precision, data_scale, char_length, nullable FROM all_tab_columns"
+            + " WHERE owner = ? ORDER BY table_name, column_id";
+
+    private static final String COLUMN_COMMENTS_QUERY = "SELECT owner, table_name, column_name, comments FROM all_col_comments"
+            + " WHERE owner = ? AND comments IS NOT NULL";
+
+    private static final String CONSTRAINTS_QUERY = "SELECT c.owner, c.table_name, cc.column_name, c.constraint_type,"
+            + " r.owner AS r_owner, r.table_name AS r_table_name"
+            + " FROM all_constraints c"
+            + " JOIN all_cons_columns cc ON cc.owner = c.owner AND cc.constraint_name = c.constraint_name"
+            + " AND cc.table_name = c.table_name"
+            + " LEFT JOIN all_constraints r ON r.owner = c.r_owner AND r.constraint_name = c.r_constraint_name"
+            + " WHERE c.owner = ? AND c.constraint_type IN ('P', 'R')";
+
+    /**
+     * Mapping of the Oracle type names to JDBC types (as reported by the Oracle JDBC driver)
+     */
+    private static final Map<String, JDBCType> TYPES = Map.ofEntries(
+            Map.entry("CHAR", JDBCType.CHAR),
+            Map.entry("VARCHAR", JDBCType.VARCHAR),
+            Map.entry("VARCHAR2", JDBCType.VARCHAR),
+            Map.entry("NCHAR", JDBCType.NCHAR),
+            Map.entry("NVARCHAR2", JDBCType.NVARCHAR),
+            Map.entry("NUMBER", JDBCType.DECIMAL),
+            Map.entry("FLOAT", JDBCType.FLOAT),
+            Map.entry("LONG", JDBCType.LONGVARCHAR),
+            Map.entry("DATE", JDBCType.TIMESTAMP),
+            Map.entry("RAW", JDBCType.VARBINARY),
+            Map.entry("LONG RAW", JDBCType.LONGVARBINARY),
+            Map.entry("BLOB", JDBCType.BLOB),
+            Map.entry("CLOB", JDBCType.CLOB),
+            Map.entry("NCLOB", JDBCType.NCLOB),
+            Map.entry("ROWID", JDBCType.ROWID),
+            Map.entry("XMLTYPE", JDBCType.SQLXML));
+
+    /**
+     * Constructor
+     *
+     * @param jdbcConnection a {@link java.sql.Connection} object
+     */
+    public OracleModelRetriever(Connection jdbcConnection) {
+        super(jdbcConnection, DB_DIALECT.ORACLE);
+    }
+
+    @Override
+    protected String getSchemasQuery() {
+        return SCHEMAS_QUERY;
+    }
+
+    @Override
+    protected void retrieveTables(TableCollector collector, String catalog, String schema) throws SQLException {
+        // getSchemas supplies the owner if no schema is given
+        List<String> parameters = List.of(schema);
+
+        query(TABLES_QUERY, parameters, rs ->
+                addTable(collector, catalog, rs.getString(1), rs.getString(2), null));
+        query(VIEWS_QUERY, parameters, rs ->
+                addTable(collector, catalog, rs.getString(1), rs.getString(2), null));
+        query(TABLE_COMMENTS_QUERY, parameters, rs ->
+                collector.setTableComment(createKey(catalog, rs.getString(1), rs.getString(2)), rs.getString(3)));
+
+        query(COLUMNS_QUERY, parameters, rs -> {
+            String key = createKey(catalog, rs.getString(1), rs.getString(2));
+            if (collector.containsTable(key)) {
+                String dataType = getTypeDescription(rs);
+                Column column = newColumn(rs.getString(3), dataType);
+                column.setNotNull("N".equals(rs.getString(9)));
+                LOGGER.debug("Column: '{}', Type: '{}'", column.getName(), dataType);
+                collector.addColumn(key, column);
+            }
+        });
+        query(COLUMN_COMMENTS_QUERY, parameters, rs ->
+                collector.setColumnComment(createKey(catalog, rs.getString(1), rs.getString(2)), rs.getString(3), intern(rs.getString(4))));
+
+        query(CONSTRAINTS_QUERY, parameters, rs -> {
+            String key = createKey(catalog, rs.getString(1), rs.getString(2));
+            if ("P".equals(rs.getString(4))) {
+                collector.markPrimaryKey(key, rs.getString(3));
+            } else if (rs.getString(6) != null) {
+                collector.markForeignKey(key, rs.getString(3), getTable(catalog, rs.getString(5), rs.getString(6)));
+            }
+        });
+    }
+
+    /**
+     * Create a data type description like the Oracle JDBC driver reports it in
+     * java.sql.DatabaseMetaData#getColumns. As with the metadata based retrieval, the
+     * precision of numeric columns without an explicit precision is taken from the
+     * octet length (DATA_LENGTH).
+     *
+     * @param rs result set of the column query
+     * @return String representation of the data type of the column
+     * @throws SQLException if an error occurs
+     */
+    private String getTypeDescription(ResultSet rs) throws SQLException {
+        String typeName = rs.getString(4);
+        JDBCType type = typeName.startsWith("TIMESTAMP") ? JDBCType.TIMESTAMP : TYPES.getOrDefault(typeName, JDBCType.OTHER);
+        int dataLength = rs.getInt(5);
+        int size;
+        if (rs.getObject(6) != null) {
+            size = rs.getInt(6);
+        } else if (isCharacterType(type)) {
+            size = rs.getInt(8);
+        } else if ("NUMBER".equals(typeName)) {
+            size = 0;
+        } else {
+            size = dataLength;
+        }
+        if (isDecimalType(type) && size == 0) {
+            size = dataLength;
+        }
+        Integer fractionalDigits = rs.getObject(7) != null ? rs.getInt(7) : null;
+        return getTypeDescription(type, typeName, size, fractionalDigits);
+    }
+}
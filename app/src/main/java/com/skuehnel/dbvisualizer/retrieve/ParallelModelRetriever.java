@@ -0,0 +1,294 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Retrieves the metadata table by table like {@link ERModelRetriever}, but processes
+ * several tables at the same time. Each worker uses a connection from a bounded pool
+ * of additional connections, since JDBC connections must not be shared between threads.
+ * The main connection is only used to list the schemas (and the tables, if there is only one schema).
+ * <p>
+ * If no schema is given, all schemas are handled concurrently as well. In a crawl from seed tables
+ * the tables of each level are retrieved concurrently.
+ * <p>
+ * The tables are retrieved as one {@link RetrievalScope}: if the retrieval of one table
+ * fails, the remaining work is cancelled and the pooled connections are aborted.
+ * The timeout covers the whole retrieval, including the listing of schemas and tables on the main connection:
+ * when it is exceeded, all connections - the main connection, too - are aborted.
+ *
+ * @author Stefan Kuehnel
+ */
+public class ParallelModelRetriever extends ERModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(ParallelModelRetriever.class);
+
+    private final JDBCConnection connectionSource;
+
+    private final int parallelism;
+
+    private final List<Connection> additionalConnections = new CopyOnWriteArrayList<>();
+
+    private BlockingQueue<Connection> connectionPool;
+
+    private int timeout = 0;
+
+    private long deadline = 0;
+
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private volatile boolean timedOut = false;
+
+    /**
+     * Constructor
+     *
+     * @param connectionSource the main connection; additional connections are opened with the same settings
+     * @param dbDialect        the dialect of the database
+     * @param parallelism      maximum number of connections used at the same time
+     */
+    public ParallelModelRetriever(JDBCConnection connectionSource, DB_DIALECT dbDialect, int parallelism) {
+        super(connectionSource.getConnection(), dbDialect);
+        this.connectionSource = connectionSource;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    @Override
+    public Model getModel(String catalog, String schema) throws SQLException {
+        deadline = timeout > 0 ? System.nanoTime() + TimeUnit.SECONDS.toNanos(timeout) : 0;
+        finished.set(false);
+        timedOut = false;
+        Thread watchdog = deadline != 0 ? Thread.ofVirtual().name("retrieval-deadline").start(this::abortAtDeadline) : null;
+        try {
+            return super.getModel(catalog, schema);
+        } catch (SQLException e) {
+            if (timedOut && !(e instanceof SQLTimeoutException)) {
+                throw createTimeoutException("", e);
+            }
+            throw e;
+        } finally {
+            finished.set(true);
+            if (watchdog != null) {
+                watchdog.interrupt();
+            }
+            closeConnectionPool();
+        }
+    }
+
+    /**
+     * Wait for the deadline; if the retrieval has not finished by then, abort all connections,
+     * so that metadata calls on any of them - the main connection, too - return immediately
+     */
+    private void abortAtDeadline() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(deadline - System.nanoTime());
+        } catch (InterruptedException e) {
+            return;
+        }
+        if (finished.compareAndSet(false, true)) {
+            timedOut = true;
+            LOGGER.warn("Retrieval exceeded the timeout of {} seconds; aborting all connections.", timeout);
+            abortConnectionPool();
+            abort(jdbcConnection);
+        }
+    }
+
+    private SQLTimeoutException createTimeoutException(String detail, Throwable cause) {
+        return new SQLTimeoutException(String.format("Retrieval of table metadata exceeded the timeout of %d seconds.%s",
+                timeout, detail), cause);
+    }
+
+    /**
+     * Retrieve the tables of all schemas concurrently: first the tables of each schema are listed,
+     * then the metadata of all tables is retrieved.
+     */
+    @Override
+    protected List<Table> retrieveSchemas(DatabaseMetaData databaseMetaData, List<SchemaReference> schemas) throws SQLException {
+        List<Map<String, String>> tableNamesOfSchemas;
+        if (schemas.size() == 1) {
+            SchemaReference schemaReference = schemas.get(0);
+            tableNamesOfSchemas = List.of(getTableNames(databaseMetaData, schemaReference.catalog(), schemaReference.schema()));
+        } else {
+            tableNamesOfSchemas = runConcurrently(schemas, (connection, schemaReference) ->
+                    getTableNames(getMetaData(connection), schemaReference.catalog(), schemaReference.schema()));
+        }
+        List<TableReference> tableReferences = new ArrayList<>();
+        for (int i = 0; i < schemas.size(); i++) {
+            for (Map.Entry<String, String> tableEntry : tableNamesOfSchemas.get(i).entrySet()) {
+                tableReferences.add(new TableReference(schemas.get(i), tableEntry.getKey(), tableEntry.getValue()));
+            }
+        }
+        return retrieveTables(databaseMetaData, tableReferences);
+    }
+
+    /**
+     * Retrieve the metadata of the given tables concurrently
+     */
+    @Override
+    protected List<Table> retrieveTables(DatabaseMetaData databaseMetaData, List<TableReference> tableReferences) throws SQLException {
+        return runConcurrently(tableReferences, (connection, tableReference) ->
+                retrieveTable(getMetaData(connection), tableReference.catalog(), tableReference.schema(),
+                        tableReference.tableName(), tableReference.tableComment()));
+    }
+
+    /**
+     * Run one task per item in a {@link RetrievalScope}; each task borrows a connection from the pool
+     *
+     * @param items the items
+     * @param call  the work to do for one item
+     * @return the results in the order of the items
+     * @throws SQLException if a task failed, the timeout was exceeded or the current thread was interrupted
+     */
+    private <I, R> List<R> runConcurrently(List<I> items, PooledCall<I, R> call) throws SQLException {
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        BlockingQueue<Connection> pool = getConnectionPool();
+        if (timedOut) {
+            throw createTimeoutException("", null);
+        }
+        try (RetrievalScope<R> scope = new RetrievalScope<>(createExecutor(items.size()), this::abortConnectionPool)) {
+            for (I item : items) {
+                scope.fork(() -> {
+                    Connection connection = pool.take();
+                    try {
+                        return call.call(connection, item);
+                    } finally {
+                        pool.put(connection);
+                    }
+                });
+            }
+            return scope.join(deadline);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            throw new SQLException("Retrieval of table metadata failed.", cause);
+        } catch (TimeoutException e) {
+            throw createTimeoutException(" " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Retrieval of table metadata was interrupted.", e);
+        }
+    }
+
+    private interface PooledCall<I, R> {
+        R call(Connection connection, I item) throws SQLException;
+    }
+
+    /**
+     * Create the executor for a group of concurrent tasks
+     *
+     * @param taskCount number of tasks
+     * @return an executor service
+     */
+    protected ExecutorService createExecutor(int taskCount) {
+        return Executors.newFixedThreadPool(Math.min(parallelism, taskCount));
+    }
+
+    /**
+     * Lazily open the pool of up to parallelism additional connections.
+     * If the database refuses further connections, the retrieval continues with the connections opened so far;
+     * if not even one additional connection can be opened, the main connection is used.
+     */
+    private BlockingQueue<Connection> getConnectionPool() {
+        if (connectionPool == null) {
+            connectionPool = new ArrayBlockingQueue<>(parallelism);
+            for (int i = 0; i < parallelism; i++) {
+                try {
+                    Connection connection = connectionSource.openConnection();
+                    additionalConnections.add(connection);
+                    connectionPool.add(connection);
+                } catch (ConnectionException e) {
+                    LOGGER.warn("Could only open {} of {} connections. Reason: {}", connectionPool.size(), parallelism,
+                            e.getMessage());
+                    break;
+                }
+            }
+            if (connectionPool.isEmpty()) {
+                connectionPool.add(jdbcConnection);
+            }
+            LOGGER.info("Retrieving table metadata with {} connections.", connectionPool.size());
+        }
+        return connectionPool;
+    }
+
+    /**
+     * Abort the additional connections, so that workers blocked in a metadata call return immediately
+     */
+    private void abortConnectionPool() {
+        LOGGER.warn("Cancelling the retrieval of the remaining tables.");
+        for (Connection connection : additionalConnections) {
+            abort(connection);
+        }
+    }
+
+    private static void abort(Connection connection) {
+        try {
+            connection.abort(Runnable::run);
+        } catch (SQLException | SecurityException e) {
+            LOGGER.warn("Could not abort connection. Reason: {}", e.getMessage());
+        }
+    }
+
+    private void closeConnectionPool() {
+        for (Connection connection : additionalConnections) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                LOGGER.warn("Could not close connection. Reason: {}", e.getMessage());
+            }
+        }
+        additionalConnections.clear();
+        connectionPool = null;
+    }
+
+    /**
+     * Getter. Maximum number of connections used at the same time.
+     *
+     * @return the parallelism
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Setter. Maximum duration of {@link #getModel(String, String)} in seconds; 0 means no limit.
+     *
+     * @param timeout the timeout in seconds
+     */
+    public void setTimeout(int timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Getter. Maximum duration of {@link #getModel(String, String)} in seconds; 0 means no limit.
+     *
+     * @return the timeout in seconds
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+}
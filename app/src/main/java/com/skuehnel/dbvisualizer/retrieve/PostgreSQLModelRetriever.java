@@ -0,0 +1,195 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Retrieves the model of a PostgreSQL database directly from pg_catalog.
+ * Tables, columns, primary keys and foreign keys (including comments) are read
+ * with four queries, regardless of the number of tables.
+ *
+ * @author Stefan Kuehnel
+ */
+public class PostgreSQLModelRetriever extends AbstractCatalogModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(PostgreSQLModelRetriever.class);
+
+    /**
+     * Kinds of the relations which are retrieved: tables, views, partitioned tables and materialized views
+     * (also used for the change markers of {@link IncrementalModelRetriever})
+     */
+    static final String RELATION_KINDS = "('r', 'v', 'p', 'm')";
+
+    private static final String SCHEMA_CONDITION = " AND n.nspname = ?";
+    private static final String NO_SYSTEM_SCHEMA_CONDITION = " AND n.nspname !~ '^pg_' AND n.nspname <> 'information_schema'";
+
+    private static final String TABLES_QUERY = "SELECT n.nspname, c.relname, d.description"
+            + " FROM pg_catalog.pg_class c"
+            + " JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace"
+            + " LEFT JOIN pg_catalog.pg_description d ON d.objoid = c.oid"
+            + " AND d.classoid = 'pg_catalog.pg_class'::regclass AND d.objsubid = 0"
+            + " WHERE c.relkind IN " + RELATION_KINDS + "%s"
+            + " ORDER BY c.relkind IN ('v', 'm'), n.nspname, c.relname";
+
+    private static final String COLUMNS_QUERY = "SELECT n.nspname, c.relname, a.attname,"
+            + " a.attnotnull OR (t.typtype = 'd' AND t.typnotnull) AS notnull,"
+            + " t.typname, bt.typname AS basetypname,"
+            + " CASE WHEN t.typtype = 'd' THEN t.typtypmod ELSE a.atttypmod END AS typmod,"
+            + " d.description"
+            + " FROM pg_catalog.pg_attribute a"
+            + " JOIN pg_catalog.pg_class c ON c.oid = a.attrelid"
+            + " JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace"
+            + " JOIN pg_catalog.pg_type t ON t.oid = a.atttypid"
+            + " JOIN pg_catalog.pg_type bt ON bt.oid = CASE WHEN t.typtype = 'd' THEN t.typbasetype ELSE t.oid END"
+            + " LEFT JOIN pg_catalog.pg_description d ON d.objoid = c.oid"
+            + " AND d.classoid = 'pg_catalog.pg_class'::regclass AND d.objsubid = a.attnum"
+            + " WHERE a.attnum > 0 AND NOT a.attisdropped AND c.relkind IN " + RELATION_KINDS + "%s"
+            + " ORDER BY n.nspname, c.relname, a.attnum";
+
+    private static final String PRIMARY_KEYS_QUERY = "SELECT n.nspname, c.relname, a.attname"
+            + " FROM pg_catalog.pg_constraint con"
+            + " JOIN pg_catalog.pg_class c ON c.oid = con.conrelid"
+            + " JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace"
+            + " JOIN pg_catalog.pg_attribute a ON a.attrelid = con.conrelid AND a.attnum = ANY (con.conkey)"
+            + " WHERE con.contype = 'p'%s";
+
+    private static final String FOREIGN_KEYS_QUERY = "SELECT n.nspname, c.relname, a.attname,"
+            + " rn.nspname AS refnspname, rc.relname AS refrelname"
+            + " FROM pg_catalog.pg_constraint con"
+            + " JOIN pg_catalog.pg_class c ON c.oid = con.conrelid"
+            + " JOIN pg_catalog.pg_namespace n ON n.oid = c.relnamespace"
+            + " JOIN pg_catalog.pg_class rc ON rc.oid = con.confrelid"
+            + " JOIN pg_catalog.pg_namespace rn ON rn.oid = rc.relnamespace"
+            + " JOIN pg_catalog.pg_attribute a ON a.attrelid = con.conrelid AND a.attnum = ANY (con.conkey)"
+            + " WHERE con.contype = 'f'%s";
+
+    /**
+     * Mapping of the PostgreSQL type names to JDBC types (as reported by the PostgreSQL JDBC driver)
+     */
+    private static final Map<String, JDBCType> TYPES = Map.ofEntries(
+            Map.entry("int2", JDBCType.SMALLINT),
+            Map.entry("int4", JDBCType.INTEGER),
+            Map.entry("oid", JDBCType.BIGINT),
+            Map.entry("int8", JDBCType.BIGINT),
+            Map.entry("money", JDBCType.DOUBLE),
+            Map.entry("numeric", JDBCType.NUMERIC),
+            Map.entry("float4", JDBCType.REAL),
+            Map.entry("float8", JDBCType.DOUBLE),
+            Map.entry("char", JDBCType.CHAR),
+            Map.entry("bpchar", JDBCType.CHAR),
+            Map.entry("varchar", JDBCType.VARCHAR),
+            Map.entry("text", JDBCType.VARCHAR),
+            Map.entry("name", JDBCType.VARCHAR),
+            Map.entry("bytea", JDBCType.BINARY),
+            Map.entry("bool", JDBCType.BIT),
+            Map.entry("bit", JDBCType.BIT),
+            Map.entry("date", JDBCType.DATE),
+            Map.entry("time", JDBCType.TIME),
+            Map.entry("timetz", JDBCType.TIME),
+            Map.entry("timestamp", JDBCType.TIMESTAMP),
+            Map.entry("timestamptz", JDBCType.TIMESTAMP),
+            Map.entry("refcursor", JDBCType.REF_CURSOR),
+            Map.entry("xml", JDBCType.SQLXML));
+
+    /**
+     * Constructor
+     *
+     * @param jdbcConnection a {@link java.sql.Connection} object
+     */
+    public PostgreSQLModelRetriever(Connection jdbcConnection) {
+        super(jdbcConnection, DB_DIALECT.POSTGRESQL);
+    }
+
+    @Override
+    protected void retrieveTables(TableCollector collector, String catalog, String schema) throws SQLException {
+        List<String> parameters = new ArrayList<>();
+        String schemaCondition = isIncludeSystemSchemas() ? "" : NO_SYSTEM_SCHEMA_CONDITION;
+        if (schema != null) {
+            parameters.add(schema);
+            schemaCondition = SCHEMA_CONDITION;
+        }
+
+        query(String.format(TABLES_QUERY, schemaCondition), parameters, rs ->
+                addTable(collector, catalog, rs.getString(1), rs.getString(2), rs.getString(3)));
+
+        query(String.format(COLUMNS_QUERY, schemaCondition), parameters, rs -> {
+            String key = createKey(catalog, rs.getString(1), rs.getString(2));
+            if (collector.containsTable(key)) {
+                String typeName = rs.getString(5);
+                String dataType = getTypeDescription(typeName, rs.getString(6), rs.getInt(7));
+                Column column = newColumn(rs.getString(3), dataType);
+                column.setNotNull(rs.getBoolean(4));
+                column.setComment(intern(rs.getString(8)));
+                LOGGER.debug("Column: '{}', Type: '{}'", column.getName(), dataType);
+                collector.addColumn(key, column);
+            }
+        });
+
+        query(String.format(PRIMARY_KEYS_QUERY, schemaCondition), parameters, rs ->
+                collector.markPrimaryKey(createKey(catalog, rs.getString(1), rs.getString(2)), rs.getString(3)));
+
+        query(String.format(FOREIGN_KEYS_QUERY, schemaCondition), parameters, rs ->
+                collector.markForeignKey(createKey(catalog, rs.getString(1), rs.getString(2)), rs.getString(3),
+                        getTable(catalog, rs.getString(4), rs.getString(5))));
+    }
+
+    /**
+     * Create a data type description like the PostgreSQL JDBC driver reports it in
+     * java.sql.DatabaseMetaData#getColumns
+     *
+     * @param typeName     name of the type of the column
+     * @param baseTypeName name of the base type (differs from typeName for domains)
+     * @param typmod       type modifier
+     * @return String representation of the data type of the column
+     */
+    private String getTypeDescription(String typeName, String baseTypeName, int typmod) {
+        JDBCType type = baseTypeName.startsWith("_") ? JDBCType.ARRAY : TYPES.getOrDefault(baseTypeName, JDBCType.OTHER);
+        int size = 0;
+        Integer fractionalDigits = null;
+        switch (baseTypeName) {
+            case "varchar":
+            case "bpchar":
+                size = typmod == -1 ? Integer.MAX_VALUE : typmod - 4;
+                break;
+            case "text":
+                size = Integer.MAX_VALUE;
+                break;
+            case "name":
+                size = 63;
+                break;
+            case "char":
+                size = 1;
+                break;
+            case "numeric":
+                if (typmod == -1) {
+                    size = 1000;
+                } else {
+                    size = ((typmod - 4) >> 16) & 0xffff;
+                    fractionalDigits = (typmod - 4) & 0xffff;
+                }
+                break;
+            case "float4":
+                size = 8;
+                fractionalDigits = 8;
+                break;
+            case "float8":
+                size = 17;
+                fractionalDigits = 17;
+                break;
+            default:
+                break;
+        }
+        return getTypeDescription(type, typeName, size, fractionalDigits);
+    }
+}
@@ -0,0 +1,109 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A group of retrieval tasks which either succeed together or are cancelled together.
+ * As soon as one task fails or the deadline is exceeded, all remaining tasks are cancelled
+ * (their threads are interrupted) and the shutdown hook is run, e.g. to abort the connections
+ * the tasks are blocked on. Closing the scope waits until all threads have finished.
+ * <p>
+ * Follows the semantics of StructuredTaskScope.ShutdownOnFailure, which is still a preview API.
+ *
+ * @param <T> result type of the tasks
+ * @author Stefan Kuehnel
+ */
+class RetrievalScope<T> implements AutoCloseable {
+
+    private final ExecutorService executor;
+
+    private final CompletionService<T> completionService;
+
+    private final Runnable shutdownHook;
+
+    private final List<Future<T>> futures = new ArrayList<>();
+
+    private boolean shutdown = false;
+
+    /**
+     * Constructor
+     *
+     * @param executor     executor running the tasks; it is closed together with the scope
+     * @param shutdownHook called once if the scope is shut down before all tasks are completed
+     */
+    RetrievalScope(ExecutorService executor, Runnable shutdownHook) {
+        this.executor = executor;
+        this.completionService = new ExecutorCompletionService<>(executor);
+        this.shutdownHook = shutdownHook;
+    }
+
+    /**
+     * Start a task
+     *
+     * @param task the task
+     */
+    void fork(Callable<T> task) {
+        futures.add(completionService.submit(task));
+    }
+
+    /**
+     * Wait for all tasks
+     *
+     * @param deadline value of {@link System#nanoTime()} at which the tasks are cancelled; 0 for no deadline
+     * @return results of the tasks in the order in which they were forked
+     * @throws ExecutionException   if a task failed; the remaining tasks are cancelled
+     * @throws TimeoutException     if the deadline was exceeded; the remaining tasks are cancelled
+     * @throws InterruptedException if the current thread was interrupted; the remaining tasks are cancelled
+     */
+    List<T> join(long deadline) throws ExecutionException, TimeoutException, InterruptedException {
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                Future<T> completed;
+                if (deadline == 0) {
+                    completed = completionService.take();
+                } else {
+                    completed = completionService.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (completed == null) {
+                        throw new TimeoutException("Deadline exceeded, " + (futures.size() - i) + " of "
+                                + futures.size() + " tasks cancelled.");
+                    }
+                }
+                completed.get();
+            }
+        } catch (ExecutionException | TimeoutException | InterruptedException e) {
+            shutdown();
+            throw e;
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            results.add(future.resultNow());
+        }
+        return results;
+    }
+
+    /**
+     * Cancel all tasks which have not been completed yet
+     */
+    void shutdown() {
+        if (!shutdown) {
+            shutdown = true;
+            futures.forEach(f -> f.cancel(true));
+            shutdownHook.run();
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        executor.close();
+    }
+}
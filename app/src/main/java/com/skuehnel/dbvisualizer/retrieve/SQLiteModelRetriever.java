@@ -0,0 +1,80 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Retrieves the model of a SQLite database with a single query: sqlite_master is read once
+ * and joined with the table valued functions pragma_table_xinfo and pragma_foreign_key_list.
+ * This avoids the emulation of {@link java.sql.DatabaseMetaData}, which parses PRAGMA output
+ * for every single call.
+ * <p>
+ * The query uses sqlite_master instead of its alias sqlite_schema, which only exists since SQLite 3.33;
+ * pragma_table_xinfo requires SQLite 3.26.
+ * <p>
+ * SQLite has no comments and no fixed column types; the declared type of a column is used as
+ * its type description.
+ *
+ * @author Stefan Kuehnel
+ */
+public class SQLiteModelRetriever extends AbstractCatalogModelRetriever {
+
+    private static final Logger LOGGER = LoggerFactory
+            .getLogger(SQLiteModelRetriever.class);
+
+    private static final String MODEL_QUERY = "SELECT m.name, p.name, p.type, p.\"notnull\", p.pk, p.hidden, f.\"table\""
+            + " FROM sqlite_master m"
+            + " JOIN pragma_table_xinfo(m.name) p"
+            + " LEFT JOIN pragma_foreign_key_list(m.name) f ON f.\"from\" = p.name"
+            + " WHERE m.type IN ('table', 'view') AND m.name NOT LIKE 'sqlite\\_%' ESCAPE '\\'"
+            + " ORDER BY m.type, m.name, p.cid";
+
+    /**
+     * Value of pragma_table_xinfo.hidden for hidden columns of virtual tables
+     */
+    private static final int HIDDEN_COLUMN = 1;
+
+    /**
+     * Constructor
+     *
+     * @param jdbcConnection a {@link java.sql.Connection} object
+     */
+    public SQLiteModelRetriever(Connection jdbcConnection) {
+        super(jdbcConnection, DB_DIALECT.SQLITE);
+    }
+
+    @Override
+    protected void retrieveTables(TableCollector collector, String catalog, String schema) throws SQLException {
+        query(MODEL_QUERY, Collections.emptyList(), rs -> {
+            String tableName = rs.getString(1);
+            String key = createKey(catalog, schema, tableName);
+            if (!collector.containsTable(key)) {
+                addTable(collector, catalog, schema, tableName, null);
+            }
+            String columnName = rs.getString(2);
+            if (!collector.containsTable(key) || rs.getInt(6) == HIDDEN_COLUMN) {
+                return;
+            }
+            if (!collector.containsColumn(key, columnName)) {
+                Column column = newColumn(columnName, rs.getString(3));
+                column.setNotNull(rs.getInt(4) != 0);
+                LOGGER.debug("Column: '{}', Type: '{}'", columnName, column.getType());
+                collector.addColumn(key, column);
+                if (rs.getInt(5) > 0) {
+                    collector.markPrimaryKey(key, columnName);
+                }
+            }
+            String referencedTableName = rs.getString(7);
+            if (referencedTableName != null) {
+                collector.markForeignKey(key, columnName, getTable(catalog, schema, referencedTableName));
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+/**
+ * A schema (or a catalog, if the database has no schemas) whose tables are retrieved as one unit of work
+ *
+ * @param catalog name of the catalog (may be null)
+ * @param schema  name of the schema (may be null)
+ * @author Stefan Kuehnel
+ */
+record SchemaReference(String catalog, String schema) {
+
+    /**
+     * @return catalog and schema name separated by a dot, omitting null parts
+     */
+    String getQualifiedName() {
+        if (catalog == null) {
+            return schema;
+        }
+        return schema == null ? catalog : catalog + "." + schema;
+    }
+}
@@ -0,0 +1,148 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.domain.Table;
+
+/**
+ * Collects tables and columns which have been retrieved by schema wide metadata calls
+ * and assigns primary keys and foreign keys to them in memory.
+ *
+ * @author Stefan Kuehnel
+ */
+class TableCollector {
+
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+    private final Map<String, Map<String, Column>> columns = new HashMap<>();
+
+    /**
+     * Add a table. Tables are returned in the order in which they have been added.
+     *
+     * @param key   unique key of the table
+     * @param table the table object
+     */
+    void addTable(String key, Table table) {
+        tables.put(key, table);
+        columns.put(key, new LinkedHashMap<>());
+    }
+
+    /**
+     * Check if a table has been added
+     *
+     * @param key unique key of the table
+     * @return true, if the table is known to this collector
+     */
+    boolean containsTable(String key) {
+        return tables.containsKey(key);
+    }
+
+    /**
+     * Add a column to a table. Columns of unknown tables are ignored; if a column
+     * with the same name has already been added, the existing column is kept.
+     *
+     * @param key    unique key of the table
+     * @param column the column object
+     */
+    void addColumn(String key, Column column) {
+        Map<String, Column> columnsOfTable = columns.get(key);
+        if (columnsOfTable != null) {
+            columnsOfTable.putIfAbsent(column.getName(), column);
+        }
+    }
+
+    /**
+     * Check if a column has been added to a table
+     *
+     * @param key        unique key of the table
+     * @param columnName name of the column
+     * @return true, if the column is known to this collector
+     */
+    boolean containsColumn(String key, String columnName) {
+        return getColumn(key, columnName) != null;
+    }
+
+    /**
+     * Set the comment of a table
+     *
+     * @param key     unique key of the table
+     * @param comment the comment
+     */
+    void setTableComment(String key, String comment) {
+        Table table = tables.get(key);
+        if (table != null) {
+            table.setComment(comment);
+        }
+    }
+
+    /**
+     * Set the comment of a column
+     *
+     * @param key        unique key of the table
+     * @param columnName name of the column
+     * @param comment    the comment
+     */
+    void setColumnComment(String key, String columnName, String comment) {
+        Column column = getColumn(key, columnName);
+        if (column != null) {
+            column.setComment(comment);
+        }
+    }
+
+    /**
+     * Mark a column as (part of the) primary key
+     *
+     * @param key        unique key of the table
+     * @param columnName name of the column
+     * @return true, if the column was found
+     */
+    boolean markPrimaryKey(String key, String columnName) {
+        Column column = getColumn(key, columnName);
+        if (column != null) {
+            column.setPrimaryKey(true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Mark a column as foreign key
+     *
+     * @param key             unique key of the table
+     * @param columnName      name of the column
+     * @param referencedTable the table referenced by the foreign key
+     * @return true, if the column was found
+     */
+    boolean markForeignKey(String key, String columnName, Table referencedTable) {
+        Column column = getColumn(key, columnName);
+        if (column != null) {
+            column.setForeignKeyTable(referencedTable);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Assign the collected columns to their tables
+     *
+     * @return list of all collected tables
+     */
+    List<Table> getTables() {
+        List<Table> result = new ArrayList<>(tables.size());
+        for (Map.Entry<String, Table> entry : tables.entrySet()) {
+            Table table = entry.getValue();
+            table.setColumns(new ArrayList<>(columns.get(entry.getKey()).values()));
+            result.add(table);
+        }
+        return result;
+    }
+
+    private Column getColumn(String key, String columnName) {
+        Map<String, Column> columnsOfTable = columns.get(key);
+        return columnsOfTable != null && columnName != null ? columnsOfTable.get(columnName) : null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+/**
+ * A table whose metadata is still to be retrieved
+ *
+ * @param schemaReference the schema of the table
+ * @param tableName       name of the table
+ * @param tableComment    comment of the table (may be null)
+ * @author Stefan Kuehnel
+ */
+record TableReference(SchemaReference schemaReference, String tableName, String tableComment) {
+
+    String catalog() {
+        return schemaReference.catalog();
+    }
+
+    String schema() {
+        return schemaReference.schema();
+    }
+}
@@ -0,0 +1,60 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.skuehnel.dbvisualizer.domain.Table;
+
+/**
+ * Registry of the tables created during a retrieval.
+ * Each table is only created once, even if it is requested concurrently
+ * (e.g. as the target of a foreign key from several tables which are retrieved in parallel).
+ *
+ * @author Stefan Kuehnel
+ */
+class TableRegistry {
+
+    private final ConcurrentMap<String, Table> knownTables = new ConcurrentHashMap<>();
+
+    /**
+     * Get a table; the table is created if it is not known yet
+     *
+     * @param catalog   name of the catalog (may be null)
+     * @param schema    name of the schema (may be null)
+     * @param tableName the simple name of the table
+     * @return a Table object
+     */
+    Table getTable(String catalog, String schema, String tableName) {
+        return knownTables.computeIfAbsent(createKey(catalog, schema, tableName), k -> {
+            Table t = new Table(k);
+            t.setSimpleName(tableName);
+            t.setCatalogName(catalog);
+            t.setSchemaName(schema);
+            return t;
+        });
+    }
+
+    /**
+     * Register an existing table (e.g. from a previously retrieved model) under its name,
+     * so that it is returned instead of a new table
+     *
+     * @param table the table
+     */
+    void register(Table table) {
+        knownTables.putIfAbsent(table.getName(), table);
+    }
+
+    static String createKey(String catalog, String schema, String tableName) {
+        StringBuilder keyBuilder = new StringBuilder();
+        if (catalog != null) {
+            keyBuilder.append(catalog);
+            keyBuilder.append('.');
+        }
+        if (schema != null) {
+            keyBuilder.append(schema);
+            keyBuilder.append('.');
+        }
+        keyBuilder.append(tableName);
+        return keyBuilder.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+
+/**
+ * Variant of the {@link ParallelModelRetriever} which starts one virtual thread per table.
+ * The retrieval is pure waiting for the database, so the tasks are cheap to start;
+ * the number of concurrent metadata calls is still limited by the size of the connection pool.
+ *
+ * @author Stefan Kuehnel
+ */
+public class VirtualThreadModelRetriever extends ParallelModelRetriever {
+
+    /**
+     * Constructor
+     *
+     * @param connectionSource the main connection; additional connections are opened with the same settings
+     * @param dbDialect        the dialect of the database
+     * @param parallelism      maximum number of connections used at the same time
+     */
+    public VirtualThreadModelRetriever(JDBCConnection connectionSource, DB_DIALECT dbDialect, int parallelism) {
+        super(connectionSource, dbDialect, parallelism);
+    }
+
+    @Override
+    protected ExecutorService createExecutor(int taskCount) {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+}
@@ -1,25 +1,54 @@
 package com.skuehnel.dbvisualizer.util;
 
+import java.util.Locale;
+
 /**
  * 
  * @author Stefan Kuehnel
  *
  */
 public enum DB_DIALECT {
-	MYSQL("MySQL"),
-	POSTGRESQL("PostgreSQL"),
-	H2("H2"),
-	ORACLE("Oracle"),
+	MYSQL("MySQL", "information_schema", "mysql", "performance_schema", "sys"),
+	POSTGRESQL("PostgreSQL", "information_schema", "pg_*"),
+	H2("H2", "INFORMATION_SCHEMA"),
+	ORACLE("Oracle", "ANONYMOUS", "APEX_*", "APPQOSSYS", "AUDSYS", "CTXSYS", "DBSFWUSER", "DBSNMP", "DIP",
+			"DVF", "DVSYS", "FLOWS_FILES", "GGSYS", "GSMADMIN_INTERNAL", "GSMCATUSER", "GSMROOTUSER", "GSMUSER",
+			"LBACSYS", "MDDATA", "MDSYS", "OJVMSYS", "OLAPSYS", "ORACLE_OCM", "ORDDATA", "ORDPLUGINS", "ORDSYS",
+			"OUTLN", "REMOTE_SCHEDULER_AGENT", "SI_INFORMTN_SCHEMA", "SYS", "SYS$UMF", "SYSBACKUP", "SYSDG",
+			"SYSKM", "SYSRAC", "SYSTEM", "WMSYS", "XDB", "XS$NULL"),
 	SQLITE("SQLite");
 	
 	private String value;
+
+	private String[] systemSchemas;
 	
-	DB_DIALECT(String value) {
+	DB_DIALECT(String value, String... systemSchemas) {
 		this.value = value;
+		this.systemSchemas = systemSchemas;
 	}
 		
 	public String getValue() {
 		return value;
 	}
+
+	/**
+	 * Check whether a schema (or a catalog, if the database has no schemas) belongs to the database system
+	 * @param schemaName name of the schema
+	 * @return true, if the name is one of the system schemas of this dialect (case insensitive)
+	 */
+	public boolean isSystemSchema(String schemaName) {
+		if (schemaName == null) {
+			return false;
+		}
+		String name = schemaName.toUpperCase(Locale.ROOT);
+		for (String systemSchema : systemSchemas) {
+			String systemName = systemSchema.toUpperCase(Locale.ROOT);
+			if (systemName.endsWith("*") ? name.startsWith(systemName.substring(0, systemName.length() - 1))
+					: name.equals(systemName)) {
+				return true;
+			}
+		}
+		return false;
+	}
 	
 }
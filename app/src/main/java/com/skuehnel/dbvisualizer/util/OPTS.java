@@ -62,7 +62,58 @@ public enum OPTS {
             "output.diagram.filename"),
     OPT_REPORT_FILE(
             "r", "report-file", true, true,
-            "Name of the report file. If omitted, no report will be generated.", "output.report.filename");
+            "Name of the report file. If omitted, no report will be generated.", "output.report.filename"),
+    OPT_RETRIEVAL_MODE("R", "retrieval-mode", false, true,
+            "Strategy for the metadata retrieval: PER_TABLE (default), BULK (schema wide metadata calls), CATALOG (queries on the system catalog), PARALLEL (PER_TABLE with several connections), VIRTUAL_THREADS (PARALLEL with one virtual thread per table) or INCREMENTAL (refresh the snapshot in the cache directory).",
+            "database.retrieval.mode"),
+    OPT_PARALLELISM("P", "parallelism", false, true,
+            "Maximum number of database connections used by the retrieval modes PARALLEL and VIRTUAL_THREADS. Default: 4",
+            "database.retrieval.parallelism"),
+    OPT_RETRIEVAL_TIMEOUT("T", "retrieval-timeout", false, true,
+            "Maximum duration of the metadata retrieval in seconds for the retrieval modes PARALLEL and VIRTUAL_THREADS. Default: no limit",
+            "database.retrieval.timeout"),
+    OPT_INCLUDE_SYSTEM_SCHEMAS("i", "include-system-schemas", false, false,
+            "If no schema is given, retrieve the tables of the system schemas (e.g. information_schema) as well.",
+            "database.include.system.schemas"),
+    OPT_CACHE_DIR("cachedir", "cache-dir", false, true,
+            "Directory for snapshots of the retrieved model. If set, a valid snapshot is used instead of querying the database.",
+            "cache.directory"),
+    OPT_CACHE_TTL("cachettl", "cache-ttl", false, true,
+            "Time to live of a snapshot in minutes; 0 means snapshots do not expire. Default: 1440 (one day)",
+            "cache.ttl"),
+    OPT_FORCE_REFRESH("refresh", "force-refresh", false, false,
+            "Retrieve the model from the database even if a valid snapshot exists, and replace the snapshot.",
+            "cache.refresh"),
+    OPT_SEED_TABLES("seeds", "seed-tables", false, true,
+            "Comma separated list of tables (optionally qualified with the schema) to start from. Only the tables reachable over foreign keys are retrieved.",
+            "database.seed.tables"),
+    OPT_CRAWL_DEPTH("depth", "crawl-depth", false, true,
+            "Maximum number of foreign key hops from the seed tables. Default: 1",
+            "database.crawl.depth"),
+    OPT_FOLLOW_EXPORTED_KEYS("exported", "follow-exported-keys", false, false,
+            "Starting from the seed tables, follow also the foreign keys referencing a table.",
+            "database.crawl.exported.keys"),
+    OPT_STREAMING("stream", "streaming", false, false,
+            "Write the diagram (formats DOT and PLANT) while the tables are being retrieved.",
+            "output.diagram.streaming"),
+    OPT_METADATA_STATISTICS("stats", "metadata-statistics", false, false,
+            "Record latency and row count of each metadata call; the summary is logged and written to <output file>.metadata-stats.json.",
+            "database.metadata.statistics"),
+    OPT_COMPACT_MODEL("compact", "compact-model", false, false,
+            "Keep the retrieved model in a compact columnar representation (for very large schemas).",
+            "model.compact"),
+    OPT_RENDER_THREADS("rthreads", "render-threads", false, true,
+            "Number of threads rendering the tables of the diagram. Default: 1",
+            "output.diagram.render.threads"),
+    OPT_RENDER_CACHE_DIR("rendercache", "render-cache-dir", false, true,
+            "Directory for rendered diagrams (formats PNG, SVG and PDF). If set, a diagram whose PlantUML source has not changed is copied from there instead of being rendered again.",
+            "output.diagram.render.cache.dir"),
+    OPT_RENDER_CACHE_SIZE("rendercachesize", "render-cache-size", false, true,
+            "Maximum size of the render cache directory in MB; the least recently used diagrams are deleted. Default: 100",
+            "output.diagram.render.cache.size"),
+    OPT_PARTITION_SIZE("partition", "partition-size", false, true,
+            "Split the diagram into partitions of at most <arg> related tables: one file per partition (<output file>_1 etc.) and an overview (<output file>_overview). Default: no partitioning.",
+            "output.diagram.partition.size");
 
     private final String shortOpt;
     private final String longOpt;
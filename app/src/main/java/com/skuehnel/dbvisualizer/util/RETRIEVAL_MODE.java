@@ -0,0 +1,31 @@
+package com.skuehnel.dbvisualizer.util;
+
+/**
+ * Strategies for the retrieval of the database metadata
+ */
+public enum RETRIEVAL_MODE {
+    /**
+     * Primary keys, imported keys and columns are retrieved table by table
+     */
+    PER_TABLE,
+    /**
+     * Columns, primary keys and imported keys are retrieved once per schema and assigned to the tables in memory
+     */
+    BULK,
+    /**
+     * Dialect specific set based queries on the system catalog
+     */
+    CATALOG,
+    /**
+     * Like PER_TABLE, but several tables are retrieved at the same time over a bounded pool of connections
+     */
+    PARALLEL,
+    /**
+     * Like PARALLEL, but with one virtual thread per table
+     */
+    VIRTUAL_THREADS,
+    /**
+     * Start from the latest snapshot of the model and retrieve only the tables whose DDL has changed since
+     */
+    INCREMENTAL
+}
@@ -0,0 +1,16 @@
+package com.skuehnel.dbvisualizer.util;
+
+/**
+ * Extent of the retrieved metadata of a table
+ */
+public enum RETRIEVAL_PROFILE {
+    /**
+     * Columns, primary keys and foreign keys
+     */
+    FULL,
+    /**
+     * Only the foreign keys, e.g. for diagrams which show the entities and their relations only.
+     * The tables contain just the foreign key columns (without data type).
+     */
+    ENTITIES
+}
@@ -1,5 +1,6 @@
 package com.skuehnel.dbvisualizer.util;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -86,8 +87,8 @@ public class TestDBGenerator {
         List<Table> tables = generateRandomTables(numberOfTables, 10);
         Visualizer visualizer = new Visualizer(tables);
         File f = new File(outputFileName);
-        Writer writer = new FileWriter(f);
-        writer.write(visualizer.getDotRepresentation());
+        Writer writer = new BufferedWriter(new FileWriter(f));
+        visualizer.writeDotRepresentation(writer);
         writer.close();
         System.out.println("Wrote .dot file for " + numberOfTables + " tables in file " + outputFileName);
     }
@@ -1,5 +1,7 @@
 package com.skuehnel.dbvisualizer.visualize;
 
+import java.io.IOException;
+
 import com.skuehnel.dbvisualizer.domain.Column;
 import com.skuehnel.dbvisualizer.domain.Table;
 
@@ -11,6 +13,7 @@ import com.skuehnel.dbvisualizer.domain.Table;
 public class DetailedTableVisualizer implements TableVisualizer {
 
     private Table table;
+    private String nodeId;
 
     /**
      * Constructor
@@ -18,102 +21,106 @@ public class DetailedTableVisualizer implements TableVisualizer {
      * @param table the table object for which a dot reprsentation shall be created
      */
     public DetailedTableVisualizer(Table table) {
+        this(table, NodeIdRegistry.toId(table.getName()));
+    }
+
+    /**
+     * Constructor
+     *
+     * @param table  the table object for which a dot reprsentation shall be created
+     * @param nodeId the id of the node in the diagram
+     */
+    public DetailedTableVisualizer(Table table, String nodeId) {
         this.table = table;
+        this.nodeId = nodeId;
     }
 
     /**
-     * Create a node description for this table
+     * Write a node description for this table
      *
-     * @return the detailed representation of the current table in GraphViz' dot language
+     * @param out destination of the detailed representation of the current table in GraphViz' dot language
+     * @throws IOException if writing fails
      */
     @Override
-    public String getDotRepresentation() {
-
-        String nodeName = Visualizer.makeDotName(table.getName().toLowerCase());
-        StringBuilder builder = new StringBuilder(nodeName);
-        builder.append(" [");
-        builder.append("label=<");
-        builder.append("<TABLE BORDER=\"0\" CELLBORDER=\"1\" CELLSPACING=\"0\" PORT=\"p0\">\n");
-        builder.append("<TR>");
-        builder.append("<TD COLSPAN=\"4\">");
-        builder.append(table.getName().toUpperCase());
-        builder.append("</TD>");
-        builder.append("</TR>\n");
-        //builder.append("<TR>");
-        //builder.append("<TD>pk</TD><TD>name</TD><TD>type</TD><TD>constr</TD>");
-        //builder.append("</TR>\n");
+    public void writeDotRepresentation(Appendable out) throws IOException {
+        out.append(nodeId);
+        out.append(" [");
+        out.append("label=<");
+        out.append("<TABLE BORDER=\"0\" CELLBORDER=\"1\" CELLSPACING=\"0\" PORT=\"p0\">\n");
+        out.append("<TR>");
+        out.append("<TD COLSPAN=\"4\">");
+        out.append(table.getName().toUpperCase());
+        out.append("</TD>");
+        out.append("</TR>\n");
+        //out.append("<TR>");
+        //out.append("<TD>pk</TD><TD>name</TD><TD>type</TD><TD>constr</TD>");
+        //out.append("</TR>\n");
         for (Column column : table.getColumns()) {
-            builder.append("<TR>");
-            builder.append("<TD>");
+            out.append("<TR>");
+            out.append("<TD>");
             if (column.isPrimaryKey()) {
-                builder.append("PK");
+                out.append("PK");
             } else if (column.getForeignKeyTable() != null) {
-                builder.append("FK");
+                out.append("FK");
             } else {
-                builder.append("-");
+                out.append("-");
             }
-            builder.append("</TD><TD>");
-            builder.append(column.getName());
-            builder.append("</TD><TD>");
-            builder.append(column.getType());
-            builder.append("</TD><TD>");
-            builder.append(getConstraints(column));
-            builder.append("</TD></TR>\n");
+            out.append("</TD><TD>");
+            out.append(column.getName());
+            out.append("</TD><TD>");
+            out.append(column.getType());
+            out.append("</TD><TD>");
+            appendConstraints(out, column);
+            out.append("</TD></TR>\n");
         }
-        builder.append("</TABLE>>];\n");
-
-        return builder.toString();
+        out.append("</TABLE>>];\n");
     }
 
     /**
      * Entity for Plant UML IE Diagrams
      *
-     * @return string in plant uml syntax
+     * @param out destination of the entity in plant uml syntax
+     * @throws IOException if writing fails
      */
     @Override
-    public String getPlantRepresentation() {
-        StringBuilder builder = new StringBuilder();
-        builder.append(String.format("entity \"%s\" as %s {\n", table.getName(), Visualizer.makeDotName(table.getName().toLowerCase())));
+    public void writePlantRepresentation(Appendable out) throws IOException {
+        out.append("entity \"").append(table.getName()).append("\" as ").append(nodeId).append(" {\n");
         int pk_count = 0;
         for (Column column : table.getColumns()) {
             if (column.isPrimaryKey()) {
                 pk_count++;
-                builder.append(String.format("  *%s : %s\n", column.getName(), column.getType()));
+                out.append("  *").append(column.getName()).append(" : ").append(column.getType()).append("\n");
             }
         }
         if (pk_count > 0) {
-            builder.append("  --\n");
+            out.append("  --\n");
         }
         for (Column column : table.getColumns()) {
             if (!column.isPrimaryKey()) {
-                builder.append("  ");
+                out.append("  ");
                 if (column.isNotNull()) {
-                    builder.append("*");
+                    out.append("*");
                 }
-                builder.append(String.format("%s : %s", column.getName(), column.getType()));
+                out.append(column.getName()).append(" : ").append(column.getType());
                 if (column.getForeignKeyTable() != null) {
-                    builder.append(" <<FK>>");
+                    out.append(" <<FK>>");
                 }
-                builder.append("\n");
+                out.append("\n");
             }
         }
-        builder.append("}\n");
-        return builder.toString();
+        out.append("}\n");
     }
 
-    private String getConstraints(Column column) {
-        StringBuilder constraints = new StringBuilder();
-
+    private void appendConstraints(Appendable out, Column column) throws IOException {
         if (column.isNotNull()) {
-            constraints.append("not null");
+            out.append("not null");
         }
         if (column.isUnique()) {
             if (column.isNotNull()) {
-                constraints.append(", ");
+                out.append(", ");
             }
-            constraints.append("unique");
+            out.append("unique");
         }
-        return constraints.toString();
     }
 
 }
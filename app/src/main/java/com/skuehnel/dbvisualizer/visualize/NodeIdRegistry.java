@@ -0,0 +1,81 @@
+package com.skuehnel.dbvisualizer.visualize;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.skuehnel.dbvisualizer.domain.Table;
+
+/**
+ * The ids of the nodes of a diagram: the lower case table name with . and $ replaced by _.
+ * The id of each table is computed once. If two tables would get the same id (e.g. "a.b" and "a_b"),
+ * the later one gets a numbered id ("a_b_2"), so that the tables do not merge into one node.
+ * <p>
+ * The tables of the list get their ids in the order of the list, then the referenced tables which are not
+ * part of it. Tables which are rendered without being registered (e.g. while streaming) get their id on
+ * first use, so their numbered ids depend on the order in which they are rendered. Lookups are thread safe.
+ *
+ * @author Stefan Kuehnel
+ */
+final class NodeIdRegistry {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(NodeIdRegistry.class);
+
+	private final Map<Table, String> ids = new ConcurrentHashMap<>();
+	private final Set<String> usedIds = new HashSet<>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param tables the tables of the diagram
+	 */
+	NodeIdRegistry(List<Table> tables) {
+		for (Table table : tables) {
+			getId(table);
+		}
+		for (Table table : tables) {
+			for (Table referencedTable : table.getForeignKeyRelations()) {
+				getId(referencedTable);
+			}
+		}
+	}
+
+	/**
+	 * @param table a table
+	 * @return the id of the node of the table
+	 */
+	String getId(Table table) {
+		String id = ids.get(table);
+		return id != null ? id : register(table);
+	}
+
+	private synchronized String register(Table table) {
+		String id = ids.get(table);
+		if (id == null) {
+			String baseId = toId(table.getName());
+			id = baseId;
+			for (int i = 2; !usedIds.add(id); i++) {
+				id = baseId + "_" + i;
+			}
+			if (!id.equals(baseId)) {
+				LOGGER.warn("Table {} has the same node id as another table; using {} instead of {}.",
+						table.getName(), id, baseId);
+			}
+			ids.put(table, id);
+		}
+		return id;
+	}
+
+	/**
+	 * @param name a table name
+	 * @return the id without collision handling
+	 */
+	static String toId(String name) {
+		return Visualizer.makeDotName(name.toLowerCase());
+	}
+}
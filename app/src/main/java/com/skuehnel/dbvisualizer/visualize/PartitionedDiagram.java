@@ -0,0 +1,358 @@
+package com.skuehnel.dbvisualizer.visualize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.skuehnel.dbvisualizer.domain.ModelIndex;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.FORMAT;
+
+/**
+ * A diagram split into partitions of a bounded number of tables, which can be laid out and rendered
+ * independently, and an overview of the partitions with the number of foreign keys between them.
+ * <p>
+ * The foreign key graph (without direction) is split into connected components. Components with more tables
+ * than allowed are split into communities by label propagation; communities which are still too large are cut
+ * into pieces in breadth first order. Finally the components and their pieces are packed into partitions in
+ * the order of their first table, so that the pieces of a component and small components end up together.
+ * The result only depends on the order of the tables.
+ *
+ * @author Stefan Kuehnel
+ */
+public class PartitionedDiagram {
+
+	private static final int LABEL_PROPAGATION_ROUNDS = 20;
+
+	private final Visualizer visualizer;
+	private final List<List<Table>> partitions = new ArrayList<>();
+	private final List<Table> hubs = new ArrayList<>();
+	/**
+	 * Number of foreign keys from partition i to partition j, by i * number of partitions + j
+	 */
+	private final Map<Long, Integer> crossPartitionEdges = new TreeMap<>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param visualizer provides the options of the diagrams (e.g. entities only)
+	 * @param tables     the tables of the diagram
+	 * @param maxTables  maximum number of tables of a partition
+	 */
+	public PartitionedDiagram(Visualizer visualizer, List<Table> tables, int maxTables) {
+		if (maxTables < 1) {
+			throw new IllegalArgumentException("The maximum number of tables of a partition must be positive.");
+		}
+		this.visualizer = visualizer;
+		ModelIndex index = new ModelIndex(tables);
+		int n = tables.size();
+		int[][] neighbors = getNeighbors(index, n);
+
+		List<int[]> groups = new ArrayList<>();
+		boolean[] visited = new boolean[n];
+		boolean[] outsideOfCommunity = null;
+		for (int start = 0; start < n; start++) {
+			if (!visited[start]) {
+				int[] component = breadthFirst(start, neighbors, visited);
+				if (component.length <= maxTables) {
+					groups.add(component);
+				} else {
+					if (outsideOfCommunity == null) {
+						outsideOfCommunity = new boolean[n];
+						Arrays.fill(outsideOfCommunity, true);
+					}
+					for (int[] community : getCommunities(component, neighbors)) {
+						groups.addAll(cut(community, neighbors, maxTables, outsideOfCommunity));
+					}
+				}
+			}
+		}
+
+		int[] partitionOf = new int[n];
+		List<Integer> current = new ArrayList<>();
+		for (int[] group : groups) {
+			if (!current.isEmpty() && current.size() + group.length > maxTables) {
+				addPartition(current, tables, partitionOf, index);
+				current = new ArrayList<>();
+			}
+			for (int id : group) {
+				current.add(id);
+			}
+		}
+		if (!current.isEmpty()) {
+			addPartition(current, tables, partitionOf, index);
+		}
+
+		for (int source = 0; source < n; source++) {
+			for (int target : index.getOutgoing(source)) {
+				if (target < n && partitionOf[source] != partitionOf[target]) {
+					crossPartitionEdges.merge((long) partitionOf[source] * partitions.size() + partitionOf[target], 1, Integer::sum);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Undirected adjacency between the tables of the list; references to other tables are ignored
+	 */
+	private static int[][] getNeighbors(ModelIndex index, int n) {
+		int[][] neighbors = new int[n][];
+		for (int id = 0; id < n; id++) {
+			int[] outgoing = index.getOutgoing(id);
+			int[] incoming = index.getIncoming(id);
+			int[] all = new int[outgoing.length + incoming.length];
+			int count = 0;
+			for (int target : outgoing) {
+				if (target < n && target != id) {
+					all[count++] = target;
+				}
+			}
+			for (int source : incoming) {
+				if (source != id) {
+					all[count++] = source;
+				}
+			}
+			neighbors[id] = Arrays.copyOf(all, count);
+		}
+		return neighbors;
+	}
+
+	/**
+	 * Breadth first search from a table over the tables which have not been visited
+	 *
+	 * @return the ids of the reached tables in the order of the search
+	 */
+	private static int[] breadthFirst(int start, int[][] neighbors, boolean[] visited) {
+		List<Integer> reached = new ArrayList<>();
+		Deque<Integer> queue = new ArrayDeque<>();
+		visited[start] = true;
+		queue.add(start);
+		while (!queue.isEmpty()) {
+			int id = queue.poll();
+			reached.add(id);
+			for (int neighbor : neighbors[id]) {
+				if (!visited[neighbor]) {
+					visited[neighbor] = true;
+					queue.add(neighbor);
+				}
+			}
+		}
+		return reached.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Label propagation: every table takes the label most of its neighbors have (on ties the smallest one),
+	 * until no label changes. The tables are visited in the order of their ids, which keeps the result stable.
+	 */
+	private static List<int[]> getCommunities(int[] component, int[][] neighbors) {
+		Map<Integer, Integer> labels = new HashMap<>();
+		for (int id : component) {
+			labels.put(id, id);
+		}
+		int[] members = component.clone();
+		Arrays.sort(members);
+		boolean changed = true;
+		for (int round = 0; changed && round < LABEL_PROPAGATION_ROUNDS; round++) {
+			changed = false;
+			for (int id : members) {
+				Map<Integer, Integer> counts = new HashMap<>();
+				for (int neighbor : neighbors[id]) {
+					counts.merge(labels.get(neighbor), 1, Integer::sum);
+				}
+				int label = labels.get(id);
+				int best = label;
+				int bestCount = counts.getOrDefault(label, 0);
+				for (Map.Entry<Integer, Integer> count : counts.entrySet()) {
+					if (count.getValue() > bestCount || (count.getValue() == bestCount && count.getKey() < best)) {
+						best = count.getKey();
+						bestCount = count.getValue();
+					}
+				}
+				if (best != label) {
+					labels.put(id, best);
+					changed = true;
+				}
+			}
+		}
+		Map<Integer, List<Integer>> communities = new TreeMap<>();
+		for (int id : members) {
+			communities.computeIfAbsent(labels.get(id), l -> new ArrayList<>()).add(id);
+		}
+		List<int[]> result = new ArrayList<>();
+		for (List<Integer> community : communities.values()) {
+			result.add(community.stream().mapToInt(Integer::intValue).toArray());
+		}
+		// in the order of the first table of each community
+		result.sort((a, b) -> Integer.compare(a[0], b[0]));
+		return result;
+	}
+
+	/**
+	 * Cut a community into pieces of at most maxTables tables, each in breadth first order
+	 *
+	 * @param visited true for all tables; the search visits the tables of the community and marks them again
+	 */
+	private static List<int[]> cut(int[] community, int[][] neighbors, int maxTables, boolean[] visited) {
+		if (community.length <= maxTables) {
+			return List.of(community);
+		}
+		// only the tables of the community can be visited
+		for (int id : community) {
+			visited[id] = false;
+		}
+		List<Integer> order = new ArrayList<>();
+		for (int id : community) {
+			if (!visited[id]) {
+				for (int reached : breadthFirst(id, neighbors, visited)) {
+					order.add(reached);
+				}
+			}
+		}
+		List<int[]> pieces = new ArrayList<>();
+		for (int start = 0; start < order.size(); start += maxTables) {
+			pieces.add(order.subList(start, Math.min(start + maxTables, order.size())).stream()
+					.mapToInt(Integer::intValue).toArray());
+		}
+		return pieces;
+	}
+
+	private void addPartition(List<Integer> ids, List<Table> tables, int[] partitionOf, ModelIndex index) {
+		Collections.sort(ids);
+		List<Table> partition = new ArrayList<>(ids.size());
+		Table hub = null;
+		int hubDegree = -1;
+		for (int id : ids) {
+			partitionOf[id] = partitions.size();
+			partition.add(tables.get(id));
+			int degree = index.getInDegree(id) + index.getOutDegree(id);
+			if (degree > hubDegree) {
+				hub = tables.get(id);
+				hubDegree = degree;
+			}
+		}
+		partitions.add(partition);
+		hubs.add(hub);
+	}
+
+	/**
+	 * @return number of partitions
+	 */
+	public int size() {
+		return partitions.size();
+	}
+
+	/**
+	 * @param partition number of the partition, starting with 0
+	 * @return the tables of the partition in the order of the table list
+	 */
+	public List<Table> getTables(int partition) {
+		return Collections.unmodifiableList(partitions.get(partition));
+	}
+
+	/**
+	 * @param from number of the referencing partition
+	 * @param to   number of the referenced partition
+	 * @return number of foreign keys from the tables of one partition to the tables of the other
+	 */
+	public int getCrossPartitionEdges(int from, int to) {
+		return crossPartitionEdges.getOrDefault((long) from * partitions.size() + to, 0);
+	}
+
+	/**
+	 * A visualizer for the diagram of one partition. Foreign keys to tables of other partitions are
+	 * left out; they are counted in the overview.
+	 *
+	 * @param partition number of the partition, starting with 0
+	 * @return visualizer with the options of the whole diagram
+	 */
+	public Visualizer getVisualizer(int partition) {
+		Visualizer partitionVisualizer = new Visualizer(partitions.get(partition));
+		partitionVisualizer.setLrEnabled(visualizer.isLrEnabled());
+		partitionVisualizer.setEntitiesOnly(visualizer.isEntitiesOnly());
+		partitionVisualizer.setParallelism(visualizer.getParallelism());
+		Set<Table> partitionTables = Collections.newSetFromMap(new IdentityHashMap<>());
+		partitionTables.addAll(partitions.get(partition));
+		partitionVisualizer.setRelationTargets(partitionTables);
+		return partitionVisualizer;
+	}
+
+	/**
+	 * The overview of the partitions
+	 *
+	 * @param format DOT or PLANT
+	 * @return one node per partition and one edge with the number of foreign keys between two partitions
+	 */
+	public String getOverview(FORMAT format) {
+		StringBuilder builder = new StringBuilder();
+		try {
+			writeOverview(format, builder);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Write the overview of the partitions
+	 *
+	 * @param format DOT or PLANT
+	 * @param out    destination
+	 * @throws IOException if writing fails
+	 */
+	public void writeOverview(FORMAT format, Appendable out) throws IOException {
+		if (format == FORMAT.DOT) {
+			out.append("digraph partitions {\n");
+			if (visualizer.isLrEnabled()) {
+				out.append("  rankdir=LR;\n");
+			}
+			out.append("  node [shape=box];\n");
+			for (int i = 0; i < partitions.size(); i++) {
+				out.append("  ").append(getPartitionId(i)).append(" [label=\"").append(getPartitionLabel(i))
+						.append("\\n").append(String.valueOf(partitions.get(i).size())).append(" tables, e.g. ")
+						.append(hubs.get(i).getName()).append("\"];\n");
+			}
+			for (Map.Entry<Long, Integer> edge : crossPartitionEdges.entrySet()) {
+				out.append("  ").append(getPartitionId((int) (edge.getKey() / partitions.size()))).append(" -> ")
+						.append(getPartitionId((int) (edge.getKey() % partitions.size())))
+						.append(" [label=\"").append(String.valueOf(edge.getValue())).append("\";arrowtail=crow;dir=back];\n");
+			}
+			out.append("}\n");
+		} else {
+			out.append("@startuml\n");
+			out.append("hide circle\n");
+			out.append("skinparam linetype ortho\n");
+			for (int i = 0; i < partitions.size(); i++) {
+				out.append("entity \"").append(getPartitionLabel(i)).append("\" as ").append(getPartitionId(i)).append(" {\n");
+				out.append("  ").append(String.valueOf(partitions.get(i).size())).append(" tables\n");
+				out.append("  e.g. ").append(hubs.get(i).getName()).append("\n");
+				out.append("}\n");
+			}
+			out.append("\n");
+			for (Map.Entry<Long, Integer> edge : crossPartitionEdges.entrySet()) {
+				out.append(getPartitionId((int) (edge.getKey() / partitions.size()))).append(" }|--|| ")
+						.append(getPartitionId((int) (edge.getKey() % partitions.size())))
+						.append(" : ").append(String.valueOf(edge.getValue())).append("\n");
+			}
+			out.append("@enduml\n");
+		}
+	}
+
+	private static String getPartitionId(int partition) {
+		return "partition_" + (partition + 1);
+	}
+
+	private static String getPartitionLabel(int partition) {
+		return "Partition " + (partition + 1);
+	}
+}
@@ -1,31 +1,36 @@
 package com.skuehnel.dbvisualizer.visualize;
 
+import java.io.IOException;
+
 import com.skuehnel.dbvisualizer.domain.Table;
 
 public class SimpleTableVisualizer implements TableVisualizer {
 
     private Table table;
+    private String nodeId;
 
     public SimpleTableVisualizer(Table table) {
+        this(table, NodeIdRegistry.toId(table.getName()));
+    }
+
+    public SimpleTableVisualizer(Table table, String nodeId) {
         this.table = table;
+        this.nodeId = nodeId;
     }
 
     @Override
-    public String getDotRepresentation() {
-        String nodeName = Visualizer.makeDotName(table.getName().toLowerCase());
-        StringBuilder builder = new StringBuilder(nodeName);
-        builder.append("[label=<");
-        builder.append("<TABLE BORDER=\"0\" CELLBORDER=\"1\" CELLSPACING=\"0\" PORT=\"p0\">\n");
-        builder.append("<TR><TD>");
-        builder.append(table.getSimpleName());
-        builder.append("</TD></TR></TABLE>");
-        builder.append(">];\n");
-        return builder.toString();
+    public void writeDotRepresentation(Appendable out) throws IOException {
+        out.append(nodeId);
+        out.append("[label=<");
+        out.append("<TABLE BORDER=\"0\" CELLBORDER=\"1\" CELLSPACING=\"0\" PORT=\"p0\">\n");
+        out.append("<TR><TD>");
+        out.append(table.getSimpleName());
+        out.append("</TD></TR></TABLE>");
+        out.append(">];\n");
     }
 
     @Override
-    public String getPlantRepresentation() {
-        StringBuilder builder = new StringBuilder();
-        return builder.toString();
+    public void writePlantRepresentation(Appendable out) {
+        // entities only are not rendered in plant uml
     }
 }
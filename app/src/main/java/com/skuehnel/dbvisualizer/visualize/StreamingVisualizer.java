@@ -0,0 +1,123 @@
+package com.skuehnel.dbvisualizer.visualize;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.FORMAT;
+
+/**
+ * Writes a diagram while the tables are still being retrieved: the node of each published table
+ * is written as soon as it arrives, the relations are written by {@link #finish(List)} once all
+ * tables are known. Tables are requested one at a time, so a bounded publisher (e.g.
+ * {@link java.util.concurrent.SubmissionPublisher}) blocks the retrieval if writing falls behind.
+ * <p>
+ * The nodes are written in the order in which the tables arrive, and the node ids are assigned in that order
+ * (see {@link NodeIdRegistry}). With a parallel retrieval the order changes from run to run, so if two table
+ * names map to the same node id, which table gets the numbered id changes, too.
+ *
+ * @author Stefan Kuehnel
+ */
+public class StreamingVisualizer implements Flow.Subscriber<Table> {
+
+	private final Visualizer visualizer;
+	private final FORMAT format;
+	private final Writer writer;
+	private final Set<Table> writtenTables = Collections.newSetFromMap(new IdentityHashMap<>());
+	private final CountDownLatch completed = new CountDownLatch(1);
+
+	private Flow.Subscription subscription;
+	private volatile Throwable error;
+
+	/**
+	 * Constructor
+	 *
+	 * @param visualizer provides the options (e.g. entities only) and the fragments of the diagram
+	 * @param format     DOT or PLANT
+	 * @param writer     destination of the diagram; it is not closed
+	 */
+	public StreamingVisualizer(Visualizer visualizer, FORMAT format, Writer writer) {
+		this.visualizer = visualizer;
+		this.format = format;
+		this.writer = writer;
+	}
+
+	@Override
+	public void onSubscribe(Flow.Subscription subscription) {
+		this.subscription = subscription;
+		try {
+			visualizer.writeHeader(format, writer);
+			subscription.request(1);
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	@Override
+	public void onNext(Table table) {
+		try {
+			writeNode(table);
+			subscription.request(1);
+		} catch (IOException e) {
+			fail(e);
+		}
+	}
+
+	@Override
+	public void onError(Throwable throwable) {
+		error = throwable;
+		completed.countDown();
+	}
+
+	@Override
+	public void onComplete() {
+		completed.countDown();
+	}
+
+	/**
+	 * Complete the diagram after the publisher has been closed: write the nodes of the tables which
+	 * have not been published, then the relations of all tables and the footer
+	 *
+	 * @param tables all tables of the model
+	 * @throws IOException if writing failed or the publisher failed
+	 */
+	public void finish(List<Table> tables) throws IOException {
+		try {
+			completed.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the diagram to be written.");
+		}
+		if (error != null) {
+			throw new IOException("Could not write diagram.", error);
+		}
+		for (Table table : tables) {
+			writeNode(table);
+		}
+		visualizer.writeNodesEnd(format, writer);
+		for (Table table : tables) {
+			visualizer.writeRelations(format, table, writer);
+		}
+		visualizer.writeFooter(format, writer);
+		writer.flush();
+	}
+
+	private void writeNode(Table table) throws IOException {
+		if (writtenTables.add(table)) {
+			visualizer.writeNode(format, table, writer);
+		}
+	}
+
+	private void fail(IOException e) {
+		error = e;
+		subscription.cancel();
+		completed.countDown();
+	}
+}
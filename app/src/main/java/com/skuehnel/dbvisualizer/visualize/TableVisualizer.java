@@ -1,17 +1,53 @@
 package com.skuehnel.dbvisualizer.visualize;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 public interface TableVisualizer {
     /**
      * Create a node description for this table
      *
      * @return the dot representation of a table
      */
-    String getDotRepresentation();
+    default String getDotRepresentation() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            writeDotRepresentation(builder);
+        } catch (IOException e) {
+            // a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
 
     /**
      * Create a node description for this table in plant uml syntax
      *
      * @return the dot representation of a table
      */
-    String getPlantRepresentation();
+    default String getPlantRepresentation() {
+        StringBuilder builder = new StringBuilder();
+        try {
+            writePlantRepresentation(builder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Write the node description for this table
+     *
+     * @param out destination, e.g. a Writer or a StringBuilder
+     * @throws IOException if writing fails
+     */
+    void writeDotRepresentation(Appendable out) throws IOException;
+
+    /**
+     * Write the node description for this table in plant uml syntax
+     *
+     * @param out destination, e.g. a Writer or a StringBuilder
+     * @throws IOException if writing fails
+     */
+    void writePlantRepresentation(Appendable out) throws IOException;
 }
@@ -1,8 +1,15 @@
 package com.skuehnel.dbvisualizer.visualize;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
 
 import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.FORMAT;
 
 /**
  * Create a file in dot language 
@@ -14,8 +21,21 @@ public class Visualizer {
 
 	private List<Table> tables;
 
+	/**
+	 * Number of tables rendered in parallel before their fragments are written; bounds the memory
+	 */
+	private static final int PARALLEL_BATCH_SIZE = 4096;
+
+	/**
+	 * Smallest number of tables a task of the parallel rendering is split into
+	 */
+	private static final int PARALLEL_THRESHOLD = 32;
+
 	private boolean lrEnabled = false;
 	private boolean entitiesOnly = false;
+	private int parallelism = 1;
+	private NodeIdRegistry nodeIds;
+	private Set<Table> relationTargets;
 	
 	/**
 	 * Constructor
@@ -30,6 +50,7 @@ public class Visualizer {
 	 */
 	public void addTable(Table table) {
 		tables.add(table);
+		resetNodeIds();
 	}
 	
 	/**
@@ -38,6 +59,7 @@ public class Visualizer {
 	 */
 	public void setTables(List<Table> tables) {
 		this.tables = tables;
+		resetNodeIds();
 	}
 
 	/**
@@ -75,80 +97,360 @@ public class Visualizer {
 		this.entitiesOnly = entitiesOnly;
 	}
 
+	/**
+	 * Getter for the number of threads rendering a diagram
+	 *
+	 * @return number of threads; 1 means the tables are rendered sequentially
+	 */
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * Setter for the number of threads rendering a diagram. With more than one thread, the nodes and
+	 * the relations of the tables are rendered concurrently and written in the order of the tables,
+	 * so the diagram is the same as with sequential rendering.
+	 *
+	 * @param parallelism number of threads
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Restrict the relations to foreign keys referencing the given tables (e.g. the tables of a partition)
+	 *
+	 * @param relationTargets the referenced tables to show; null for all
+	 */
+	void setRelationTargets(Set<Table> relationTargets) {
+		this.relationTargets = relationTargets;
+	}
+
+	/**
+	 * Split the diagram into partitions, which can be laid out and rendered independently
+	 *
+	 * @param maxTables maximum number of tables of a partition
+	 * @return the partitions and an overview of them
+	 */
+	public PartitionedDiagram partition(int maxTables) {
+		return new PartitionedDiagram(this, tables, maxTables);
+	}
+
 	/**
 	 * Generate the .dot file
 	 * @return the ER-model as GraphViz dot file
 	 */
 	public String getDotRepresentation() {
+		return getRepresentation(FORMAT.DOT);
+	}
+
+	/**
+	 * Get Output for Plant IE (ER) Diagrams
+	 *
+	 * @return a string describing the database in PlantUML notation
+	 */
+	public String getPlantRepresentation() {
+		return getRepresentation(FORMAT.PLANT);
+	}
+
+	/**
+	 * Write the .dot file
+	 *
+	 * @param out destination, e.g. a Writer; the diagram is written table by table
+	 * @throws IOException if writing fails
+	 */
+	public void writeDotRepresentation(Appendable out) throws IOException {
+		writeRepresentation(FORMAT.DOT, out);
+	}
+
+	/**
+	 * Write the diagram in PlantUML notation
+	 *
+	 * @param out destination, e.g. a Writer; the diagram is written table by table
+	 * @throws IOException if writing fails
+	 */
+	public void writePlantRepresentation(Appendable out) throws IOException {
+		writeRepresentation(FORMAT.PLANT, out);
+	}
+
+	private String getRepresentation(FORMAT format) {
 		StringBuilder builder = new StringBuilder();
-		builder.append("digraph tables {\n");
-		if (lrEnabled) {
-			builder.append("  rankdir=LR;\n");
+		appendTo(builder, out -> writeRepresentation(format, out));
+		return builder.toString();
+	}
+
+	private void writeRepresentation(FORMAT format, Appendable out) throws IOException {
+		NodeIdRegistry ids = getNodeIds();
+		writeHeader(format, out);
+		if (parallelism > 1 && tables.size() > PARALLEL_THRESHOLD) {
+			try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+				writeInParallel(pool, table -> render(builder -> writeNode(format, table, builder, ids)), out);
+				writeNodesEnd(format, out);
+				writeInParallel(pool, table -> render(builder -> writeRelations(format, table, builder, ids)), out);
+			}
+		} else {
+			for (Table table : tables) {
+				writeNode(format, table, out, ids);
+			}
+			writeNodesEnd(format, out);
+			for (Table table : tables) {
+				writeRelations(format, table, out, ids);
+			}
 		}
-		builder.append("  node [shape=plaintext];\n");
-		for (Table table : tables) {
-			TableVisualizer tv = getTableVisualizer(table);
-			builder.append(tv.getDotRepresentation());
+		writeFooter(format, out);
+	}
+
+	/**
+	 * Render the fragments of a batch of tables concurrently, then write them in the order of the tables
+	 */
+	private void writeInParallel(ForkJoinPool pool, Function<Table, String> renderer, Appendable out) throws IOException {
+		for (int start = 0; start < tables.size(); start += PARALLEL_BATCH_SIZE) {
+			String[] fragments = new String[Math.min(PARALLEL_BATCH_SIZE, tables.size() - start)];
+			pool.invoke(new RenderTask(tables, start, 0, fragments.length, fragments, renderer));
+			for (String fragment : fragments) {
+				out.append(fragment);
+			}
 		}
-		for (Table table : tables) {
-			List<Table> foreignKeyRelations = table.getForeignKeyRelations();
-			if (!foreignKeyRelations.isEmpty()) {
-				for (Table other : foreignKeyRelations) {
-				builder.append(makeDotName(table.getName().toLowerCase()));
-				builder.append(":p0");
-				builder.append(" -> ");
-				builder.append(makeDotName(other.getName().toLowerCase()));
-				builder.append(":p0");
-				builder.append(" [arrowtail=crow;dir=back];\n");
+	}
+
+	// ForkJoinTask is Serializable, but the tasks are only used within one rendering and never serialized
+	@SuppressWarnings("serial")
+	private static class RenderTask extends RecursiveAction {
+
+		private final List<Table> tables;
+		private final int offset;
+		private final int from;
+		private final int to;
+		private final String[] fragments;
+		private final Function<Table, String> renderer;
+
+		RenderTask(List<Table> tables, int offset, int from, int to, String[] fragments, Function<Table, String> renderer) {
+			this.tables = tables;
+			this.offset = offset;
+			this.from = from;
+			this.to = to;
+			this.fragments = fragments;
+			this.renderer = renderer;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= PARALLEL_THRESHOLD) {
+				for (int i = from; i < to; i++) {
+					fragments[i] = renderer.apply(tables.get(offset + i));
 				}
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new RenderTask(tables, offset, from, middle, fragments, renderer),
+						new RenderTask(tables, offset, middle, to, fragments, renderer));
 			}
 		}
-		builder.append("}\n");		
+	}
+
+	/**
+	 * The beginning of a diagram. A diagram consists of the header, the nodes of all tables,
+	 * the end of the nodes, the relations of all tables and the footer.
+	 *
+	 * @param format DOT or PLANT (all other formats are rendered from PLANT)
+	 * @return the header
+	 */
+	public String getHeader(FORMAT format) {
+		StringBuilder builder = new StringBuilder();
+		appendTo(builder, out -> writeHeader(format, out));
 		return builder.toString();
 	}
 
 	/**
-	 * Get Output for Plant IE (ER) Diagrams
+	 * Write the beginning of a diagram
 	 *
-	 * @return a string describing the database in PlantUML notation
+	 * @param format DOT or PLANT
+	 * @param out    destination
+	 * @throws IOException if writing fails
 	 */
-	public String getPlantRepresentation() {
+	public void writeHeader(FORMAT format, Appendable out) throws IOException {
+		if (format == FORMAT.DOT) {
+			out.append("digraph tables {\n");
+			if (lrEnabled) {
+				out.append("  rankdir=LR;\n");
+			}
+			out.append("  node [shape=plaintext];\n");
+		} else {
+			out.append("@startuml\n");
+			out.append("'hide the spot\n");
+			out.append("hide circle\n");
+			out.append("' comment\n");
+			out.append("skinparam linetype ortho\n");
+		}
+	}
+
+	/**
+	 * The node of a table
+	 *
+	 * @param format DOT or PLANT
+	 * @param table  the table
+	 * @return the node description
+	 */
+	public String getNode(FORMAT format, Table table) {
 		StringBuilder builder = new StringBuilder();
-		builder.append("@startuml\n");
-		builder.append("'hide the spot\n");
-		builder.append("hide circle\n");
-		builder.append("' comment\n");
-		builder.append("skinparam linetype ortho\n");
-		for (Table table : tables) {
-			TableVisualizer tv = getTableVisualizer(table);
-			builder.append(tv.getPlantRepresentation());
-			builder.append("\n");
+		appendTo(builder, out -> writeNode(format, table, out));
+		return builder.toString();
+	}
+
+	/**
+	 * Write the node of a table
+	 *
+	 * @param format DOT or PLANT
+	 * @param table  the table
+	 * @param out    destination
+	 * @throws IOException if writing fails
+	 */
+	public void writeNode(FORMAT format, Table table, Appendable out) throws IOException {
+		writeNode(format, table, out, getNodeIds());
+	}
+
+	private void writeNode(FORMAT format, Table table, Appendable out, NodeIdRegistry ids) throws IOException {
+		TableVisualizer tv = getTableVisualizer(table, ids.getId(table));
+		if (format == FORMAT.DOT) {
+			tv.writeDotRepresentation(out);
+		} else {
+			tv.writePlantRepresentation(out);
+			out.append("\n");
 		}
-		builder.append("\n");
-		for (Table table : tables) {
-			List<Table> foreignKeyRelations = table.getForeignKeyRelations();
-			if (!foreignKeyRelations.isEmpty()) {
-				for (Table other : foreignKeyRelations) {
-					builder.append(Visualizer.makeDotName(table.getName()).toLowerCase());
-					builder.append(" }|--|| ");
-					builder.append(Visualizer.makeDotName(other.getName()).toLowerCase());
-					builder.append("\n");
-				}
+	}
+
+	/**
+	 * Separator between the nodes and the relations
+	 *
+	 * @param format DOT or PLANT
+	 * @return the separator
+	 */
+	public String getNodesEnd(FORMAT format) {
+		return format == FORMAT.DOT ? "" : "\n";
+	}
+
+	/**
+	 * Write the separator between the nodes and the relations
+	 *
+	 * @param format DOT or PLANT
+	 * @param out    destination
+	 * @throws IOException if writing fails
+	 */
+	public void writeNodesEnd(FORMAT format, Appendable out) throws IOException {
+		out.append(getNodesEnd(format));
+	}
+
+	/**
+	 * The foreign key relations of a table
+	 *
+	 * @param format DOT or PLANT
+	 * @param table  the table
+	 * @return one edge per foreign key relation
+	 */
+	public String getRelations(FORMAT format, Table table) {
+		StringBuilder builder = new StringBuilder();
+		appendTo(builder, out -> writeRelations(format, table, out));
+		return builder.toString();
+	}
+
+	/**
+	 * Write the foreign key relations of a table
+	 *
+	 * @param format DOT or PLANT
+	 * @param table  the table
+	 * @param out    destination
+	 * @throws IOException if writing fails
+	 */
+	public void writeRelations(FORMAT format, Table table, Appendable out) throws IOException {
+		writeRelations(format, table, out, getNodeIds());
+	}
+
+	private void writeRelations(FORMAT format, Table table, Appendable out, NodeIdRegistry ids) throws IOException {
+		List<Table> relations = table.getForeignKeyRelations();
+		if (relations.isEmpty()) {
+			return;
+		}
+		String id = ids.getId(table);
+		for (Table other : relations) {
+			if (relationTargets != null && !relationTargets.contains(other)) {
+				continue;
+			}
+			if (format == FORMAT.DOT) {
+				out.append(id);
+				out.append(":p0");
+				out.append(" -> ");
+				out.append(ids.getId(other));
+				out.append(":p0");
+				out.append(" [arrowtail=crow;dir=back];\n");
+			} else {
+				out.append(id);
+				out.append(" }|--|| ");
+				out.append(ids.getId(other));
+				out.append("\n");
 			}
 		}
-		builder.append("@enduml\n");
+	}
+
+	/**
+	 * The end of a diagram
+	 *
+	 * @param format DOT or PLANT
+	 * @return the footer
+	 */
+	public String getFooter(FORMAT format) {
+		return format == FORMAT.DOT ? "}\n" : "@enduml\n";
+	}
+
+	/**
+	 * Write the end of a diagram
+	 *
+	 * @param format DOT or PLANT
+	 * @param out    destination
+	 * @throws IOException if writing fails
+	 */
+	public void writeFooter(FORMAT format, Appendable out) throws IOException {
+		out.append(getFooter(format));
+	}
+
+	private interface Fragment {
+		void write(Appendable out) throws IOException;
+	}
+
+	private static String render(Fragment fragment) {
+		StringBuilder builder = new StringBuilder();
+		appendTo(builder, fragment);
 		return builder.toString();
 	}
 
+	private static void appendTo(StringBuilder builder, Fragment fragment) {
+		try {
+			fragment.write(builder);
+		} catch (IOException e) {
+			// a StringBuilder does not throw
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	protected static String makeDotName(String in) {
-		return in.replaceAll("([\\.\\$])", "_");
+		// replace(char, char) returns the same string if there is nothing to replace
+		return in.replace('.', '_').replace('$', '_');
+	}
+
+	private synchronized NodeIdRegistry getNodeIds() {
+		if (nodeIds == null) {
+			nodeIds = new NodeIdRegistry(tables);
+		}
+		return nodeIds;
+	}
+
+	private synchronized void resetNodeIds() {
+		nodeIds = null;
 	}
 
-	private TableVisualizer getTableVisualizer(Table table) {
+	private TableVisualizer getTableVisualizer(Table table, String nodeId) {
 		if (entitiesOnly) {
-			return new SimpleTableVisualizer(table);
+			return new SimpleTableVisualizer(table, nodeId);
 		}
-		return new DetailedTableVisualizer(table);
+		return new DetailedTableVisualizer(table, nodeId);
 	}
 
 }
@@ -32,6 +32,7 @@ public class ConfigurationTest {
         Assertions.assertEquals(DB_DIALECT.POSTGRESQL, dbVisualizer.getDbDialect());
         Assertions.assertEquals(FORMAT.PNG, dbVisualizer.getOutputFormat());
         Assertions.assertEquals(REPORT_FORMAT.MARKDOWN, dbVisualizer.getReportFormat());
+        Assertions.assertEquals(RETRIEVAL_MODE.BULK, dbVisualizer.getRetrievalMode());
     }
 
     @Test
@@ -46,6 +47,22 @@ public class ConfigurationTest {
 
     }
 
+    @Test
+    public void numericOptionsTest() throws ParseException {
+        CommandLineParser parser = new DefaultParser();
+        String[] args = {"-C", "src/test/resources/test.properties", "-P", "8", "-depth", "0", "-partition", " 50 "};
+        CommandLine commandLine = parser.parse(OPTS.getOptions(), args);
+        DBVisualizer dbVisualizer = new DBVisualizer();
+        dbVisualizer.assignCommandLineOptionsAndConfigurationValues(commandLine);
+        // Assertions
+        Assertions.assertEquals(8, dbVisualizer.getParallelism());
+        Assertions.assertEquals(0, dbVisualizer.getCrawlDepth());
+        Assertions.assertEquals(50, dbVisualizer.getPartitionSize());
+        // defaults of the options which are not set
+        Assertions.assertEquals(1440, dbVisualizer.getCacheTimeToLive());
+        Assertions.assertEquals(100, dbVisualizer.getRenderCacheSize());
+    }
+
     @Test
     void checkForMandatoryOptions() throws ParseException {
         CommandLineParser parser = new DefaultParser();
@@ -0,0 +1,58 @@
+package com.skuehnel.dbvisualizer;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StreamingTest {
+
+    private static final String URL = "jdbc:h2:mem:streaming";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void streamedDiagramEqualsWrittenDiagram() throws Exception {
+        // the in-memory database is kept as long as this connection is open
+        try (Connection connection = DriverManager.getConnection(URL);
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE DEPT(ID INT PRIMARY KEY, NAME VARCHAR(40))");
+            statement.execute("CREATE TABLE EMP(ID INT PRIMARY KEY, DEPT_ID INT REFERENCES DEPT(ID), BOSS_ID INT REFERENCES EMP(ID))");
+            for (String format : new String[]{"DOT", "PLANT"}) {
+                Path written = directory.resolve("written." + format);
+                Path streamed = directory.resolve("streamed." + format);
+                createDBVisualizer(URL, format, written, false).execute();
+                createDBVisualizer(URL, format, streamed, true).execute();
+                Assertions.assertEquals(Files.readString(written), Files.readString(streamed), format);
+            }
+        }
+    }
+
+    @Test
+    public void failedRetrievalLeavesNoDiagram() {
+        Path streamed = directory.resolve("streamed.dot");
+        DBVisualizer dbVisualizer = createDBVisualizer("jdbc:h2:mem:missing;IFEXISTS=TRUE", "DOT", streamed, true);
+        Assertions.assertThrows(Exception.class, dbVisualizer::execute);
+        Assertions.assertFalse(Files.exists(streamed));
+    }
+
+    private static DBVisualizer createDBVisualizer(String url, String format, Path outputFile, boolean streaming) {
+        return DBVisualizer.DBVisualizerBuilder.builder()
+                .withJdbcDriver("org.h2.Driver")
+                .withJdbcUrl(url)
+                .withDatabaseUser("")
+                .withDatabasePassword("")
+                .withDBDialect("H2")
+                .withSchema("PUBLIC")
+                .withOutputFormat(format)
+                .withOutputFileName(outputFile.toString())
+                .withStreaming(streaming)
+                .build();
+    }
+}
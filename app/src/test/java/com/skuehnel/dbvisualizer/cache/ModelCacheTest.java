@@ -0,0 +1,108 @@
+package com.skuehnel.dbvisualizer.cache;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static com.skuehnel.dbvisualizer.domain.TableFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ModelCacheTest {
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    public void testRoundTrip() {
+        Table external = table("EXTERNAL");
+        external.setCatalogName("OTHER_DB");
+        external.setSchemaName("OTHER");
+        Table dept = table("DEPT");
+        dept.setComment("Departments");
+        Table emp = table("EMP", dept, external);
+        Model model = createModel(dept, emp);
+
+        ModelCache cache = new ModelCache(cacheDirectory, 60);
+        String key = ModelCache.createKey("jdbc:h2:mem:test", null, "PUBLIC");
+        assertNull(cache.load(key));
+        cache.store(key, model);
+        Model loaded = cache.load(key);
+
+        assertNotNull(loaded);
+        assertEquals("PUBLIC", loaded.getSchemaName());
+        assertEquals(List.of("PUBLIC"), loaded.getSchemaNames());
+        assertEquals(Map.of("DEPT", "1"), loaded.getChangeMarkers());
+        assertEquals(2, loaded.getTableList().size());
+        Table loadedDept = loaded.getTableList().get(0);
+        Table loadedEmp = loaded.getTableList().get(1);
+        assertEquals("Departments", loadedDept.getComment());
+        assertEquals(List.of("ID", "FK_DEPT", "FK_EXTERNAL"),
+                loadedEmp.getColumns().stream().map(c -> c.getName()).toList());
+        assertTrue(loadedEmp.getColumns().get(0).isPrimaryKey());
+        assertSame(loadedDept, loadedEmp.getColumns().get(1).getForeignKeyTable());
+        Table loadedExternal = loadedEmp.getColumns().get(2).getForeignKeyTable();
+        assertEquals("EXTERNAL", loadedExternal.getName());
+        assertEquals("OTHER_DB", loadedExternal.getCatalogName());
+        assertEquals("OTHER", loadedExternal.getSchemaName());
+        assertEquals(List.of(loadedDept, loadedExternal), loadedEmp.getForeignKeyRelations());
+    }
+
+    @Test
+    public void testTimeToLive() throws IOException {
+        String key = ModelCache.createKey("jdbc:h2:mem:test");
+        long twoHoursAgo = System.currentTimeMillis() - 2 * 60 * 60_000L;
+        write(key, new ModelSnapshot(createModel(table("DEPT")), twoHoursAgo));
+
+        assertNull(new ModelCache(cacheDirectory, 60).load(key));
+        assertNotNull(new ModelCache(cacheDirectory, 60).loadLatest(key));
+        assertNotNull(new ModelCache(cacheDirectory, 180).load(key));
+        assertNotNull(new ModelCache(cacheDirectory, 0).load(key));
+    }
+
+    @Test
+    public void testOnlySnapshotsAreDeserialized() throws IOException {
+        String key = ModelCache.createKey("jdbc:h2:mem:test");
+        write(key, new Date());
+        assertNull(new ModelCache(cacheDirectory, 0).load(key));
+    }
+
+    @Test
+    public void testKeys() {
+        assertEquals(ModelCache.createKey("a", "b"), ModelCache.createKey("a", "b"));
+        assertNotEquals(ModelCache.createKey("ab", "c"), ModelCache.createKey("a", "bc"));
+        assertNotEquals(ModelCache.createKey("a", null), ModelCache.createKey("a", ""));
+    }
+
+    private static Model createModel(Table... tables) {
+        Model model = new Model();
+        model.setSchemaName("PUBLIC");
+        model.setSchemaNames(List.of("PUBLIC"));
+        model.setChangeMarkers(Map.of("DEPT", "1"));
+        model.setTableList(List.of(tables));
+        return model;
+    }
+
+    private void write(String key, Serializable content) throws IOException {
+        try (OutputStream out = Files.newOutputStream(cacheDirectory.resolve(key + ".model.gz"));
+             ObjectOutputStream objectOutputStream = new ObjectOutputStream(new GZIPOutputStream(out))) {
+            objectOutputStream.writeObject(content);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.skuehnel.dbvisualizer.cache;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RenderCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testLeastRecentlyUsedDiagramsAreEvicted() throws IOException {
+        Path cacheDirectory = directory.resolve("cache");
+        RenderCache cache = new RenderCache(cacheDirectory, 25);
+        cache.store("a", createDiagram("a"));
+        cache.store("b", createDiagram("b"));
+        // make the order of use independent of the resolution of the file times
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(cacheDirectory.resolve("a.render"), FileTime.fromMillis(now - 20_000));
+        Files.setLastModifiedTime(cacheDirectory.resolve("b.render"), FileTime.fromMillis(now - 10_000));
+
+        Path target = directory.resolve("diagram.png");
+        assertTrue(cache.copyTo("a", target));
+        assertEquals("diagram a", Files.readString(target));
+
+        cache.store("c", createDiagram("c"));
+
+        assertTrue(cache.copyTo("a", target));
+        assertFalse(cache.copyTo("b", target));
+        assertTrue(cache.copyTo("c", target));
+        assertEquals("diagram c", Files.readString(target));
+    }
+
+    @Test
+    public void testMissingDiagram() {
+        assertFalse(new RenderCache(directory, 1000).copyTo("unknown", directory.resolve("diagram.png")));
+    }
+
+    @Test
+    public void testKeys() {
+        assertEquals(RenderCache.createKey("@startuml", "PNG", "1.0"), RenderCache.createKey("@startuml", "PNG", "1.0"));
+        assertNotEquals(RenderCache.createKey("@startuml", "PNG", "1.0"), RenderCache.createKey("@startuml", "SVG", "1.0"));
+        assertNotEquals(RenderCache.createKey("@startuml", "PNG", "1.0"), RenderCache.createKey("@startuml", "PNG", "1.1"));
+    }
+
+    private Path createDiagram(String name) throws IOException {
+        // 9 bytes each, so that only two diagrams fit into the cache
+        return Files.writeString(directory.resolve(name + ".png"), "diagram " + name);
+    }
+}
@@ -0,0 +1,69 @@
+package com.skuehnel.dbvisualizer.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.skuehnel.dbvisualizer.domain.TableFixtures.table;
+
+public class ColumnarModelTest {
+
+    @Test
+    public void testCompactModel() {
+        Table external = new Table("EXTERNAL");
+        external.setSchemaName("OTHER");
+        Table dept = table("DEPT");
+        dept.setComment("Departments");
+        Table emp = table("EMP", dept, external);
+        Column boss = new Column("BOSS_ID", "INT");
+        boss.setForeignKeyTable(emp);
+        emp.getColumns().add(2, boss);
+        emp.updateForeignKeyRelations();
+        Model model = new Model();
+        model.setSchemaName("PUBLIC");
+        model.setSchemaNames(List.of("PUBLIC"));
+        model.setTableList(List.of(dept, emp));
+
+        Model compact = ColumnarModel.compact(model);
+
+        Assertions.assertEquals("PUBLIC", compact.getSchemaName());
+        Assertions.assertEquals(List.of("PUBLIC"), compact.getSchemaNames());
+        List<Table> tables = compact.getTableList();
+        Assertions.assertEquals(2, tables.size());
+        Table compactDept = tables.get(0);
+        Table compactEmp = tables.get(1);
+        Assertions.assertSame(compactDept, compact.getTableList().get(0));
+        Assertions.assertEquals("DEPT", compactDept.getName());
+        Assertions.assertEquals("Departments", compactDept.getComment());
+
+        List<Column> columns = compactEmp.getColumns();
+        Assertions.assertEquals(4, columns.size());
+        Assertions.assertEquals("ID", columns.get(0).getName());
+        Assertions.assertEquals("INT", columns.get(0).getType());
+        Assertions.assertTrue(columns.get(0).isPrimaryKey());
+        Assertions.assertTrue(columns.get(0).isNotNull());
+        Assertions.assertFalse(columns.get(1).isPrimaryKey());
+        Assertions.assertNull(columns.get(0).getForeignKeyTable());
+        Assertions.assertSame(compactDept, columns.get(1).getForeignKeyTable());
+        Assertions.assertSame(compactEmp, columns.get(2).getForeignKeyTable());
+
+        // a referenced table outside of the list is kept as view without columns
+        Table compactExternal = columns.get(3).getForeignKeyTable();
+        Assertions.assertEquals("EXTERNAL", compactExternal.getName());
+        Assertions.assertEquals("OTHER", compactExternal.getSchemaName());
+        Assertions.assertNull(compactExternal.getColumns());
+        Assertions.assertSame(compactExternal, compactEmp.getColumns().get(3).getForeignKeyTable());
+        Assertions.assertEquals(List.of(compactDept, compactEmp, compactExternal), compactEmp.getForeignKeyRelations());
+    }
+
+    @Test
+    public void testCompactModelIsReadOnly() {
+        Model model = new Model();
+        model.setTableList(List.of(table("DEPT")));
+        Table dept = ColumnarModel.compact(model).getTableList().get(0);
+
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> dept.setName("EMP"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> dept.getColumns().get(0).setType("BIGINT"));
+    }
+}
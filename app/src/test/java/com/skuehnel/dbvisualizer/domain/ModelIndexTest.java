@@ -0,0 +1,54 @@
+package com.skuehnel.dbvisualizer.domain;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.skuehnel.dbvisualizer.domain.TableFixtures.table;
+
+public class ModelIndexTest {
+
+    @Test
+    public void testAdjacency() {
+        Table dept = table("DEPT");
+        Table external = table("EXTERNAL");
+        Table emp = table("EMP", dept, dept);
+        Table project = table("PROJECT", dept, emp, external);
+        ModelIndex index = new ModelIndex(List.of(dept, emp, project));
+
+        Assertions.assertEquals(4, index.size());
+        Assertions.assertEquals(0, index.getId(dept));
+        Assertions.assertEquals(3, index.getId(external));
+        Assertions.assertEquals(-1, index.getId(new Table("DEPT")));
+        Assertions.assertSame(emp, index.getTable("EMP"));
+        Assertions.assertSame(external, index.getTable("EXTERNAL"));
+        Assertions.assertNull(index.getTable("UNKNOWN"));
+
+        Assertions.assertArrayEquals(new int[]{0, 0}, index.getOutgoing(1));
+        Assertions.assertArrayEquals(new int[]{0, 1, 3}, index.getOutgoing(2));
+        Assertions.assertArrayEquals(new int[]{1, 1, 2}, index.getIncoming(0));
+        Assertions.assertEquals(0, index.getOutDegree(0));
+        Assertions.assertEquals(3, index.getInDegree(0));
+        Assertions.assertEquals(1, index.getInDegree(3));
+        Assertions.assertEquals(0, index.getInDegree(2));
+
+        Assertions.assertEquals(List.of(emp, project), index.getReferencingTables(dept));
+        Assertions.assertEquals(List.of(project), index.getReferencingTables(external));
+        Assertions.assertEquals(List.of(), index.getReferencingTables(project));
+    }
+
+    @Test
+    public void testModelIndexIsRebuiltForNewTableList() {
+        Table dept = table("DEPT");
+        Model model = new Model();
+        model.setTableList(List.of(dept));
+        ModelIndex index = model.getIndex();
+        Assertions.assertSame(index, model.getIndex());
+        Assertions.assertEquals(List.of(), index.getReferencingTables(dept));
+
+        Table emp = table("EMP", dept);
+        model.setTableList(List.of(dept, emp));
+        Assertions.assertEquals(List.of(emp), model.getIndex().getReferencingTables(dept));
+    }
+}
@@ -0,0 +1,35 @@
+package com.skuehnel.dbvisualizer.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixtures for the tests: tables with a primary key column ID and one foreign key column per referenced table
+ *
+ * @author Stefan Kuehnel
+ */
+public final class TableFixtures {
+
+    private TableFixtures() {
+    }
+
+    /**
+     * Create a table
+     *
+     * @param name             name of the table
+     * @param referencedTables the tables referenced by foreign key columns FK_&lt;name of the referenced table&gt;
+     * @return the table
+     */
+    public static Table table(String name, Table... referencedTables) {
+        Table table = new Table(name);
+        List<Column> columns = new ArrayList<>();
+        columns.add(new Column("ID", "INT", true, false, true));
+        for (Table referencedTable : referencedTables) {
+            Column column = new Column("FK_" + referencedTable.getName(), "INT");
+            column.setForeignKeyTable(referencedTable);
+            columns.add(column);
+        }
+        table.setColumns(columns);
+        return table;
+    }
+}
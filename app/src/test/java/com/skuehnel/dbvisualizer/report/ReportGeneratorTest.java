@@ -81,6 +81,8 @@ public class ReportGeneratorTest {
         Assertions.assertTrue(content.contains("PK_DEPT_ID"));
         Assertions.assertTrue(content.contains("LNAME"));
         Assertions.assertTrue(content.contains("FK_DEPT_ID"));
+        Assertions.assertTrue(content.contains("### Referenced by\n\n- EMP\n"));
+        Assertions.assertEquals(1, content.split("### Referenced by", -1).length - 1);
     }
 
     @Test
@@ -100,6 +102,7 @@ public class ReportGeneratorTest {
         Assertions.assertTrue(content.contains("PK_DEPT_ID"));
         Assertions.assertTrue(content.contains("LNAME"));
         Assertions.assertTrue(content.contains("FK_DEPT_ID"));
+        Assertions.assertTrue(content.contains("<li>EMP</li>"));
     }
 
 
@@ -0,0 +1,152 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.JDBCType;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+import com.skuehnel.dbvisualizer.util.RETRIEVAL_MODE;
+import com.skuehnel.dbvisualizer.util.RETRIEVAL_PROFILE;
+import org.junit.jupiter.api.Test;
+
+import static com.skuehnel.dbvisualizer.retrieve.H2Fixtures.createDatabase;
+import static com.skuehnel.dbvisualizer.retrieve.H2Fixtures.describe;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ERModelRetrieverTest {
+
+	@Test
+	public void testBulkRetrievalEqualsRetrievalPerTable() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			for (RETRIEVAL_PROFILE profile : RETRIEVAL_PROFILE.values()) {
+				for (String schema : new String[]{"PUBLIC", null}) {
+					String perTable = describe(getModel(connection, RETRIEVAL_MODE.PER_TABLE, profile, schema));
+					String bulk = describe(getModel(connection, RETRIEVAL_MODE.BULK, profile, schema));
+					assertEquals(perTable, bulk, profile + " " + schema);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSystemSchemasAreSkipped() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			ERModelRetriever retriever = new ERModelRetriever(connection, DB_DIALECT.H2);
+			retriever.setRetrievalProfile(RETRIEVAL_PROFILE.ENTITIES);
+			Model model = retriever.getModel(null, null);
+			assertEquals(List.of(connection.getCatalog() + ".HR", connection.getCatalog() + ".PUBLIC"), model.getSchemaNames());
+			assertEquals(3, model.getTableList().size());
+
+			retriever = new ERModelRetriever(connection, DB_DIALECT.H2);
+			retriever.setRetrievalProfile(RETRIEVAL_PROFILE.ENTITIES);
+			retriever.setIncludeSystemSchemas(true);
+			model = retriever.getModel(null, null);
+			assertTrue(model.getSchemaNames().contains(connection.getCatalog() + ".INFORMATION_SCHEMA"));
+			assertTrue(model.getTableList().size() > 3);
+		}
+	}
+
+	@Test
+	public void testCatalogArgumentIgnoredByDriver() throws SQLException {
+		try (Connection connection = createDatabase(); Statement statement = connection.createStatement()) {
+			// like PgJDBC: every database is a catalog, but the schemas are those of the current database
+			DatabaseMetaData metaData = connection.getMetaData();
+			DatabaseMetaData ignoringMetaData = proxy(DatabaseMetaData.class, metaData, (method, args) -> switch (method) {
+				case "getCatalogs" -> statement.executeQuery("SELECT 'POSTGRES' TABLE_CAT UNION ALL SELECT '"
+						+ connection.getCatalog() + "' UNION ALL SELECT 'TEMPLATE1'");
+				case "getSchemas" -> metaData.getSchemas();
+				default -> null;
+			});
+			Connection ignoringConnection = proxy(Connection.class, connection,
+					(method, args) -> "getMetaData".equals(method) ? ignoringMetaData : null);
+
+			ERModelRetriever retriever = new ERModelRetriever(ignoringConnection, DB_DIALECT.POSTGRESQL);
+			Model model = retriever.getModel(null, null);
+			assertEquals(List.of(connection.getCatalog() + ".HR", connection.getCatalog() + ".PUBLIC"), model.getSchemaNames());
+			assertEquals(3, model.getTableList().size());
+		}
+	}
+
+	@Test
+	public void testNeighborhoodCrawl() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			assertEquals(List.of("PROJECT", "DEPT"), crawl(connection, List.of("HR.PROJECT"), 1, false));
+			assertEquals(List.of("PROJECT"), crawl(connection, List.of("PROJECT"), 0, true));
+			assertEquals(List.of("EMP", "DEPT"), crawl(connection, List.of("EMP"), 2, false));
+			assertEquals(List.of("DEPT", "PROJECT", "EMP"), crawl(connection, List.of("DEPT"), 1, true));
+			assertEquals(List.of(), crawl(connection, List.of("UNKNOWN"), 1, true));
+		}
+	}
+
+	@Test
+	public void testTypeDescriptionsAreShared() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			ERModelRetriever retriever = new ERModelRetriever(connection, DB_DIALECT.H2);
+			Model model = retriever.getModel(null, "PUBLIC");
+			Table dept = model.getTableList().get(0);
+			Table emp = model.getTableList().get(1);
+			assertEquals("DEPT", dept.getSimpleName());
+			assertEquals("INTEGER", emp.getColumns().get(0).getType());
+			assertSame(dept.getColumns().get(0).getType(), emp.getColumns().get(0).getType());
+			assertEquals("DECIMAL(10,2)", emp.getColumns().get(2).getType());
+			assertSame(retriever.getTypeDescription(JDBCType.VARCHAR, null, 20, null),
+					retriever.getTypeDescription(JDBCType.VARCHAR, null, 20, 0));
+			assertEquals("VARCHAR(20)", retriever.getTypeDescription(JDBCType.VARCHAR, null, 20, null));
+			assertEquals(JDBCType.OTHER, retriever.getJdbcType(-12345));
+			assertEquals(JDBCType.VARCHAR, retriever.getJdbcType(JDBCType.VARCHAR.getVendorTypeNumber()));
+		}
+	}
+
+	@FunctionalInterface
+	private interface Replacement {
+		/**
+		 * @return the result of the overridden method, or null to call the original method
+		 */
+		Object invoke(String method, Object[] args) throws SQLException;
+	}
+
+	private static <T> T proxy(Class<T> type, T target, Replacement replacement) {
+		return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+			Object result = replacement.invoke(method.getName(), args);
+			if (result != null) {
+				return result;
+			}
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}));
+	}
+
+	private static List<String> crawl(Connection connection, List<String> seedTables, int depth,
+									  boolean followExportedKeys) throws SQLException {
+		ERModelRetriever retriever = new ERModelRetriever(connection, DB_DIALECT.H2);
+		retriever.setSeedTables(seedTables);
+		retriever.setCrawlDepth(depth);
+		retriever.setFollowExportedKeys(followExportedKeys);
+		List<String> tableNames = new ArrayList<>();
+		for (Table table : retriever.getModel(null, null).getTableList()) {
+			tableNames.add(table.getSimpleName());
+		}
+		return tableNames;
+	}
+
+	private static Model getModel(Connection connection, RETRIEVAL_MODE mode, RETRIEVAL_PROFILE profile,
+								  String schema) throws SQLException {
+		ERModelRetriever retriever = new ERModelRetriever(connection, DB_DIALECT.H2);
+		retriever.setRetrievalMode(mode);
+		retriever.setRetrievalProfile(profile);
+		return retriever.getModel(null, schema);
+	}
+}
@@ -0,0 +1,72 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+
+/**
+ * Fixtures for the tests of the retrievers: an in-memory H2 database with the tables DEPT and EMP in the schema
+ * PUBLIC and the table PROJECT in the schema HR
+ *
+ * @author Stefan Kuehnel
+ */
+final class H2Fixtures {
+
+	private static final AtomicInteger DATABASES = new AtomicInteger();
+
+	private H2Fixtures() {
+	}
+
+	/**
+	 * Open a new in-memory database containing the test schema; it is dropped when the connection is closed
+	 *
+	 * @return the connection
+	 * @throws SQLException if an error occurs
+	 */
+	static Connection createDatabase() throws SQLException {
+		Connection connection = DriverManager.getConnection("jdbc:h2:mem:test" + DATABASES.incrementAndGet());
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE DEPT(ID INT PRIMARY KEY, NAME VARCHAR(40) NOT NULL UNIQUE)");
+			statement.execute("COMMENT ON TABLE DEPT IS 'Departments'");
+			statement.execute("CREATE TABLE EMP(ID INT PRIMARY KEY, NAME VARCHAR(40),"
+					+ " SALARY DECIMAL(10, 2), DEPT_ID INT REFERENCES DEPT(ID), BOSS_ID INT REFERENCES EMP(ID))");
+			statement.execute("COMMENT ON COLUMN EMP.SALARY IS 'Yearly salary'");
+			statement.execute("CREATE SCHEMA HR");
+			statement.execute("CREATE TABLE HR.PROJECT(ID INT PRIMARY KEY, DEPT_ID INT REFERENCES PUBLIC.DEPT(ID))");
+		}
+		return connection;
+	}
+
+	/**
+	 * Describe the tables of a model, so that models can be compared as a whole
+	 *
+	 * @param model the model
+	 * @return one line per table and per column
+	 */
+	static String describe(Model model) {
+		StringBuilder description = new StringBuilder();
+		for (Table table : model.getTableList()) {
+			description.append(table.getName()).append(" #").append(table.getComment()).append('\n');
+			if (table.getColumns() != null) {
+				for (Column column : table.getColumns()) {
+					description.append("  ").append(column.getName()).append(' ').append(column.getType());
+					description.append(column.isPrimaryKey() ? " PK" : "").append(column.isNotNull() ? " NN" : "");
+					if (column.getForeignKeyTable() != null) {
+						description.append(" -> ").append(column.getForeignKeyTable().getName());
+					}
+					description.append(" #").append(column.getComment()).append('\n');
+				}
+			}
+			for (Table referencedTable : table.getForeignKeyRelations()) {
+				description.append("  references ").append(referencedTable.getName()).append('\n');
+			}
+		}
+		return description.toString();
+	}
+}
@@ -0,0 +1,77 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.skuehnel.dbvisualizer.domain.Column;
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+import org.junit.jupiter.api.Test;
+
+import static com.skuehnel.dbvisualizer.retrieve.H2Fixtures.createDatabase;
+import static com.skuehnel.dbvisualizer.retrieve.H2Fixtures.describe;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class H2ModelRetrieverTest {
+
+	@Test
+	public void testTablesColumnsAndKeys() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			Model model = new H2ModelRetriever(connection).getModel(null, "PUBLIC");
+
+			List<Table> tables = model.getTableList();
+			assertEquals(2, tables.size());
+			Table dept = tables.get(0);
+			Table emp = tables.get(1);
+			assertEquals("DEPT", dept.getSimpleName());
+			assertEquals("PUBLIC", dept.getSchemaName());
+			assertEquals("Departments", dept.getComment());
+
+			Column name = dept.getColumns().get(1);
+			assertEquals("NAME", name.getName());
+			assertEquals("CHARACTER VARYING(40)", name.getType());
+			assertTrue(name.isNotNull());
+			assertFalse(name.isPrimaryKey());
+			assertTrue(dept.getColumns().get(0).isPrimaryKey());
+
+			Column salary = emp.getColumns().get(2);
+			assertEquals("DECIMAL(10,2)", salary.getType());
+			assertEquals("Yearly salary", salary.getComment());
+			assertSame(dept, emp.getColumns().get(3).getForeignKeyTable());
+			assertSame(emp, emp.getColumns().get(4).getForeignKeyTable());
+			assertNull(emp.getColumns().get(1).getForeignKeyTable());
+		}
+	}
+
+	@Test
+	public void testSameModelAsMetadataRetrieval() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			Model expected = new ERModelRetriever(connection, DB_DIALECT.H2).getModel(null, "PUBLIC");
+			assertEquals(describe(expected), describe(new H2ModelRetriever(connection).getModel(null, "PUBLIC")));
+		}
+	}
+
+	@Test
+	public void testAllSchemasWithoutSchema() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			Model model = new H2ModelRetriever(connection).getModel(null, null);
+
+			assertEquals(List.of("HR", "PUBLIC"), model.getSchemaNames());
+			assertEquals(3, model.getTableList().size());
+			Table project = model.getTableList().get(0);
+			assertEquals("HR", project.getSchemaName());
+			assertEquals("PROJECT", project.getSimpleName());
+			assertSame(model.getTableList().get(1), project.getColumns().get(1).getForeignKeyTable());
+			for (Table table : model.getTableList()) {
+				assertFalse("INFORMATION_SCHEMA".equals(table.getSchemaName()));
+			}
+			assertEquals(describe(new ERModelRetriever(connection, DB_DIALECT.H2).getModel(null, null)), describe(model));
+		}
+	}
+}
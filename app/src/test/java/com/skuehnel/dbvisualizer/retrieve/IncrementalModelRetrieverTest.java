@@ -0,0 +1,127 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+import org.junit.jupiter.api.Test;
+
+import static com.skuehnel.dbvisualizer.retrieve.H2Fixtures.createDatabase;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The change markers are read with the query of the Oracle dialect from a table ALL_OBJECTS,
+ * which stands in for the dictionary view
+ */
+public class IncrementalModelRetrieverTest {
+
+	@Test
+	public void testOnlyChangedTablesAreRetrievedAgain() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			createChangeMarkers(connection);
+			execute(connection, "CREATE TABLE OFFICE(ID INT PRIMARY KEY)");
+			execute(connection, "CREATE TABLE DESK(ID INT PRIMARY KEY, OFFICE_ID INT REFERENCES OFFICE(ID))");
+			for (String table : List.of("DEPT", "EMP", "OFFICE", "DESK")) {
+				setChangeMarker(connection, table, 1);
+			}
+			Model first = getModel(connection, null);
+			assertEquals(4, first.getChangeMarkers().size());
+
+			// both tables change, but only the change marker of EMP; the columns show which table is retrieved again
+			execute(connection, "ALTER TABLE EMP ADD COLUMN HIRED DATE");
+			execute(connection, "ALTER TABLE DEPT ADD COLUMN BUDGET INT");
+			setChangeMarker(connection, "EMP", 2);
+			Model second = getModel(connection, first);
+
+			Table dept = getTable(second, "DEPT");
+			Table emp = getTable(second, "EMP");
+			assertSame(getTable(first, "DEPT"), dept);
+			assertEquals(2, dept.getColumns().size());
+			assertEquals(6, emp.getColumns().size());
+			assertEquals("HIRED", emp.getColumns().get(5).getName());
+			// the table objects are reused, so that the references between the tables stay intact
+			assertSame(getTable(first, "EMP"), emp);
+			assertSame(dept, emp.getColumns().get(3).getForeignKeyTable());
+			assertEquals(first.getChangeMarkers().get("PUBLIC.DEPT"), second.getChangeMarkers().get("PUBLIC.DEPT"));
+			assertNotEquals(first.getChangeMarkers().get("PUBLIC.EMP"), second.getChangeMarkers().get("PUBLIC.EMP"));
+
+			// the change marker of DESK does not change, but DESK references a table which does not exist anymore
+			assertNotNull(getTable(second, "DESK").getColumns().get(1).getForeignKeyTable());
+			execute(connection, "DROP TABLE OFFICE CASCADE");
+			execute(connection, "DELETE FROM ALL_OBJECTS WHERE OBJECT_NAME = 'OFFICE'");
+			Model third = getModel(connection, second);
+
+			assertEquals(List.of("DEPT", "DESK", "EMP"), third.getTableList().stream().map(Table::getSimpleName).sorted().toList());
+			assertEquals(2, getTable(third, "DEPT").getColumns().size());
+			assertNull(getTable(third, "DESK").getColumns().get(1).getForeignKeyTable());
+		}
+	}
+
+	@Test
+	public void testTablesWithoutChangeMarkerAreRetrievedAgain() throws SQLException {
+		try (Connection connection = createDatabase()) {
+			createChangeMarkers(connection);
+			setChangeMarker(connection, "DEPT", 1);
+			Model first = getModel(connection, null);
+			execute(connection, "ALTER TABLE EMP ADD COLUMN HIRED DATE");
+			execute(connection, "ALTER TABLE DEPT ADD COLUMN BUDGET INT");
+			Model second = getModel(connection, first);
+
+			assertEquals(2, getTable(second, "DEPT").getColumns().size());
+			assertEquals(6, getTable(second, "EMP").getColumns().size());
+			assertSame(getTable(second, "DEPT"), getTable(second, "EMP").getColumns().get(3).getForeignKeyTable());
+		}
+	}
+
+	private static Model getModel(Connection connection, Model previousModel) throws SQLException {
+		IncrementalModelRetriever retriever = new IncrementalModelRetriever(connection, DB_DIALECT.ORACLE);
+		retriever.setPreviousModel(previousModel);
+		// H2 reports the catalog of the referenced tables, Oracle does not
+		return retriever.getModel(connection.getCatalog(), "PUBLIC");
+	}
+
+	private static Table getTable(Model model, String simpleName) {
+		for (Table table : model.getTableList()) {
+			if (simpleName.equals(table.getSimpleName())) {
+				return table;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Create ALL_OBJECTS outside of the retrieved schema, but on the search path of the queries
+	 */
+	private static void createChangeMarkers(Connection connection) throws SQLException {
+		execute(connection, "CREATE SCHEMA DICTIONARY");
+		execute(connection, "CREATE TABLE DICTIONARY.ALL_OBJECTS(OWNER VARCHAR(128), OBJECT_NAME VARCHAR(128),"
+				+ " OBJECT_TYPE VARCHAR(20), LAST_DDL_TIME TIMESTAMP)");
+		execute(connection, "SET SCHEMA_SEARCH_PATH PUBLIC, DICTIONARY");
+	}
+
+	private static void setChangeMarker(Connection connection, String table, int version) throws SQLException {
+		execute(connection, "DELETE FROM ALL_OBJECTS WHERE OBJECT_NAME = '" + table + "'");
+		try (PreparedStatement statement = connection.prepareStatement(
+				"INSERT INTO ALL_OBJECTS VALUES ('PUBLIC', ?, 'TABLE', ?)")) {
+			statement.setString(1, table);
+			statement.setTimestamp(2, new Timestamp(version * 1000L));
+			statement.executeUpdate();
+		}
+	}
+
+	private static void execute(Connection connection, String sql) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(sql);
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class LikePatternsTest {
+
+	@Test
+	public void testLiterals() {
+		assertEquals(List.of("EMPLOYEES"), LikePatterns.fromRegex("EMPLOYEES", "\\"));
+		assertEquals(List.of("EMPLOYEES"), LikePatterns.fromRegex("^EMPLOYEES$", "\\"));
+		assertEquals(List.of("A.B"), LikePatterns.fromRegex("A\\.B", "\\"));
+	}
+
+	@Test
+	public void testWildcards() {
+		assertEquals(List.of("EMP%"), LikePatterns.fromRegex("EMP.*", "\\"));
+		assertEquals(List.of("EMP_%"), LikePatterns.fromRegex("EMP.+", "\\"));
+		assertEquals(List.of("EMP_"), LikePatterns.fromRegex("EMP.", "\\"));
+		assertEquals(List.of("T%X"), LikePatterns.fromRegex("T.*X", "\\"));
+	}
+
+	@Test
+	public void testEscaping() {
+		assertEquals(List.of("T\\_EMP"), LikePatterns.fromRegex("T_EMP", "\\"));
+		assertEquals(List.of("T_EMP"), LikePatterns.fromRegex("T_EMP", ""));
+		assertEquals(List.of("T\\%"), LikePatterns.fromRegex("T%", "\\"));
+	}
+
+	@Test
+	public void testAlternatives() {
+		assertEquals(List.of("EMPLOYEES", "DEPT%"), LikePatterns.fromRegex("EMPLOYEES|DEPT.*", "\\"));
+		assertEquals(List.of("A", "B"), LikePatterns.fromRegex("^(A|B)$", "\\"));
+		assertEquals(List.of("A", "B"), LikePatterns.fromRegex("(?:A|B)", "\\"));
+	}
+
+	@Test
+	public void testUnsupportedConstructs() {
+		assertEquals(List.of("ORDER%"), LikePatterns.fromRegex("ORDER[0-9]+", "\\"));
+		assertEquals(List.of("ORDER%"), LikePatterns.fromRegex("ORDERS?", "\\"));
+		assertEquals(List.of("A%"), LikePatterns.fromRegex("A(B|C)D", "\\"));
+		assertNull(LikePatterns.fromRegex(".*", "\\"));
+		assertNull(LikePatterns.fromRegex("(?i)employees", "\\"));
+		assertNull(LikePatterns.fromRegex("EMP|[A-Z]+", "\\"));
+	}
+}
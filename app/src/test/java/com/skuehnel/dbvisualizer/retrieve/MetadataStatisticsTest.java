@@ -0,0 +1,60 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+
+import static com.skuehnel.dbvisualizer.retrieve.H2Fixtures.createDatabase;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MetadataStatisticsTest {
+
+	@Test
+	public void testRowCounting() throws SQLException {
+		MetadataStatistics statistics = new MetadataStatistics();
+		DatabaseMetaData databaseMetaData;
+		try (Connection connection = createDatabase()) {
+			databaseMetaData = statistics.instrument(connection.getMetaData());
+			readAll(databaseMetaData.getTables(null, "PUBLIC", null, new String[]{"BASE TABLE"}));
+			readAll(databaseMetaData.getColumns(null, "PUBLIC", "EMP", null));
+			readAll(databaseMetaData.getImportedKeys(null, "PUBLIC", "DEPT"));
+			// calls are recorded when the result set is closed
+			databaseMetaData.getPrimaryKeys(null, "PUBLIC", "EMP");
+			assertEquals(3, statistics.getRoundTrips());
+		}
+		DatabaseMetaData closedMetaData = databaseMetaData;
+		assertThrows(SQLException.class, () -> closedMetaData.getColumns(null, "PUBLIC", "DEPT", null));
+		assertEquals(4, statistics.getRoundTrips());
+
+		String json = statistics.toJson();
+		assertTrue(json.contains("\"roundTrips\": 4,"), json);
+		assertTrue(json.contains("\"getTables\": {\"count\": 1, \"rows\": 2, \"failed\": 0"), json);
+		assertTrue(json.contains("\"getColumns\": {\"count\": 2, \"rows\": 5, \"failed\": 1"), json);
+		assertTrue(json.contains("\"getImportedKeys\": {\"count\": 1, \"rows\": 0, \"failed\": 0"), json);
+		assertTrue(json.contains("{\"table\": \"PUBLIC.EMP\""), json);
+		assertTrue(json.contains("\"calls\": 1, \"rows\": 5}"), json);
+	}
+
+	@Test
+	public void testPercentiles() {
+		long[] values = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+		assertEquals(5, MetadataStatistics.percentile(values, 50));
+		assertEquals(9, MetadataStatistics.percentile(values, 90));
+		assertEquals(10, MetadataStatistics.percentile(values, 99));
+		assertEquals(7, MetadataStatistics.percentile(new long[]{7}, 50));
+		assertEquals(7, MetadataStatistics.percentile(new long[]{7}, 99));
+	}
+
+	private static void readAll(ResultSet resultSet) throws SQLException {
+		try (resultSet) {
+			while (resultSet.next()) {
+				resultSet.getString(1);
+			}
+		}
+	}
+}
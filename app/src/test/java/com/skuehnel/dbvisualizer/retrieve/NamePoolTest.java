@@ -0,0 +1,39 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class NamePoolTest {
+
+	@Test
+	public void testEqualNamesAreShared() {
+		NamePool pool = new NamePool();
+		String first = new String("ID");
+		String second = new String("ID");
+		assertNotSame(first, second);
+
+		assertSame(first, pool.intern(first));
+		assertSame(first, pool.intern(second));
+		assertSame(first, pool.intern(first));
+		assertEquals("NAME", pool.intern("NAME"));
+		assertNull(pool.intern(null));
+
+		assertEquals(2, pool.size());
+		// only the replaced instance counts, not the repeated lookup of the pooled one
+		assertEquals(1, pool.getDuplicates());
+		assertEquals(NamePool.estimateSize("ID"), pool.getSavedBytes());
+	}
+
+	@Test
+	public void testSizeEstimate() {
+		// 24 bytes for the String object, the array header of 16 bytes plus the characters rounded up to 8 bytes
+		assertEquals(24 + 24, NamePool.estimateSize("ID"));
+		assertEquals(24 + 32, NamePool.estimateSize("EMPLOYEE_ID"));
+		assertEquals(24 + 24, NamePool.estimateSize("\u00c4MTER"));
+		assertEquals(24 + 32, NamePool.estimateSize("\u0391\u0392\u0393\u0394\u0395"));
+	}
+}
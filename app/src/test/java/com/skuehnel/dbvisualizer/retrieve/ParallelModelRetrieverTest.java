@@ -0,0 +1,120 @@
+package com.skuehnel.dbvisualizer.retrieve;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.skuehnel.dbvisualizer.domain.Model;
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.DB_DIALECT;
+import com.skuehnel.dbvisualizer.util.RETRIEVAL_MODE;
+import org.junit.jupiter.api.Test;
+
+import static com.skuehnel.dbvisualizer.retrieve.H2Fixtures.createDatabase;
+import static com.skuehnel.dbvisualizer.retrieve.H2Fixtures.describe;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParallelModelRetrieverTest {
+
+	@Test
+	public void testSameModelAsRetrievalPerTable() throws SQLException, ConnectionException {
+		// the in-memory database is kept as long as the fixture connection is open
+		try (Connection connection = createDatabase()) {
+			for (String schema : new String[]{"PUBLIC", null}) {
+				String expected = describe(new ERModelRetriever(connection, DB_DIALECT.H2).getModel(null, schema));
+				for (RETRIEVAL_MODE mode : new RETRIEVAL_MODE[]{RETRIEVAL_MODE.PARALLEL, RETRIEVAL_MODE.VIRTUAL_THREADS}) {
+					JDBCConnection connectionSource = new JDBCConnection("org.h2.Driver", null,
+							connection.getMetaData().getURL(), "", "");
+					try (Connection mainConnection = connectionSource.getConnection()) {
+						ModelRetriever retriever = ModelRetrieverFactory.createModelRetrieverInstance(connectionSource,
+								DB_DIALECT.H2, mode, 2, 60);
+						assertEquals(expected, describe(retriever.getModel(null, schema)), mode + " " + schema);
+					}
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testDeadlineCancelsPooledRetrieval() throws SQLException, ConnectionException {
+		try (Connection connection = createDatabase()) {
+			JDBCConnection connectionSource = new JDBCConnection("org.h2.Driver", null,
+					connection.getMetaData().getURL(), "", "");
+			ParallelModelRetriever retriever = new ParallelModelRetriever(connectionSource, DB_DIALECT.H2, 2) {
+				@Override
+				protected Table retrieveTable(DatabaseMetaData databaseMetaData, String catalog, String schema,
+											  String tableName, String tableComment) throws SQLException {
+					// hangs until the task is cancelled
+					try {
+						Thread.sleep(60000);
+					} catch (InterruptedException e) {
+						throw new SQLException("Interrupted.", e);
+					}
+					return super.retrieveTable(databaseMetaData, catalog, schema, tableName, tableComment);
+				}
+			};
+			try (Connection mainConnection = connectionSource.getConnection()) {
+				assertTimeout(retriever);
+			}
+		}
+	}
+
+	@Test
+	public void testDeadlineAbortsMainConnection() throws SQLException, ConnectionException {
+		try (Connection connection = createDatabase()) {
+			CountDownLatch aborted = new CountDownLatch(1);
+			JDBCConnection connectionSource = new JDBCConnection("org.h2.Driver", null,
+					connection.getMetaData().getURL(), "", "") {
+				@Override
+				public Connection getConnection() {
+					Connection mainConnection = super.getConnection();
+					return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+							new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+								if ("abort".equals(method.getName())) {
+									aborted.countDown();
+								}
+								try {
+									return method.invoke(mainConnection, args);
+								} catch (InvocationTargetException e) {
+									throw e.getCause();
+								}
+							});
+				}
+			};
+			ParallelModelRetriever retriever = new ParallelModelRetriever(connectionSource, DB_DIALECT.H2, 2) {
+				@Override
+				protected Map<String, String> getTableNames(DatabaseMetaData databaseMetaData,
+															String catalog, String schema) throws SQLException {
+					// the listing of a single schema runs on the main connection; it hangs until the connection is aborted
+					try {
+						if (aborted.await(60, TimeUnit.SECONDS)) {
+							throw new SQLException("Connection aborted.");
+						}
+					} catch (InterruptedException e) {
+						throw new SQLException("Interrupted.", e);
+					}
+					return super.getTableNames(databaseMetaData, catalog, schema);
+				}
+			};
+			try (Connection mainConnection = connectionSource.getConnection()) {
+				assertTimeout(retriever);
+			}
+		}
+	}
+
+	private static void assertTimeout(ParallelModelRetriever retriever) {
+		retriever.setTimeout(1);
+		long start = System.nanoTime();
+		SQLTimeoutException e = assertThrows(SQLTimeoutException.class, () -> retriever.getModel(null, "PUBLIC"));
+		long seconds = (System.nanoTime() - start) / 1000000000L;
+		assertTrue(seconds < 30, e.getMessage() + " after " + seconds + " seconds");
+	}
+}
@@ -0,0 +1,94 @@
+package com.skuehnel.dbvisualizer.visualize;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.FORMAT;
+import com.skuehnel.dbvisualizer.util.InvalidParamException;
+import com.skuehnel.dbvisualizer.util.TestDBGenerator;
+import org.junit.jupiter.api.Test;
+
+import static com.skuehnel.dbvisualizer.domain.TableFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionedDiagramTest {
+
+	@Test
+	public void connectedComponentsStayTogether() {
+		Table dept = table("DEPT");
+		Table emp = table("EMP", dept);
+		Table customer = table("CUSTOMER");
+		Table orders = table("ORDERS", customer);
+		Table log = table("LOG");
+		List<Table> tables = List.of(dept, customer, log, emp, orders);
+
+		PartitionedDiagram diagram = new Visualizer(tables).partition(2);
+
+		assertEquals(3, diagram.size());
+		assertEquals(List.of(dept, emp), diagram.getTables(0));
+		assertEquals(List.of(customer, orders), diagram.getTables(1));
+		assertEquals(List.of(log), diagram.getTables(2));
+		assertEquals(0, diagram.getCrossPartitionEdges(0, 1));
+	}
+
+	@Test
+	public void largeComponentsAreSplit() throws InvalidParamException {
+		List<Table> tables = new TestDBGenerator().generateRandomTables(300, 10);
+		PartitionedDiagram diagram = new Visualizer(tables).partition(40);
+
+		Set<Table> partitioned = Collections.newSetFromMap(new IdentityHashMap<>());
+		int crossPartitionEdges = 0;
+		for (int i = 0; i < diagram.size(); i++) {
+			assertTrue(diagram.getTables(i).size() <= 40);
+			for (Table table : diagram.getTables(i)) {
+				assertTrue(partitioned.add(table));
+			}
+			for (int j = 0; j < diagram.size(); j++) {
+				crossPartitionEdges += diagram.getCrossPartitionEdges(i, j);
+			}
+		}
+		assertEquals(tables.size(), partitioned.size());
+
+		int expectedCrossPartitionEdges = 0;
+		for (Table table : tables) {
+			for (Table referencedTable : table.getForeignKeyRelations()) {
+				if (!diagram.getTables(partitionOf(diagram, table)).contains(referencedTable)) {
+					expectedCrossPartitionEdges++;
+				}
+			}
+		}
+		assertEquals(expectedCrossPartitionEdges, crossPartitionEdges);
+	}
+
+	@Test
+	public void partitionDiagramsOmitEdgesToOtherPartitions() {
+		Table dept = table("DEPT");
+		Table emp = table("EMP", dept);
+		Table project = table("PROJECT", emp);
+		Table task = table("TASK", project);
+		PartitionedDiagram diagram = new Visualizer(List.of(dept, emp, project, task)).partition(2);
+
+		assertEquals(2, diagram.size());
+		String second = diagram.getVisualizer(1).getDotRepresentation();
+		assertTrue(second.contains("task:p0 -> project:p0"));
+		assertFalse(second.contains("-> emp:p0"));
+
+		String overview = diagram.getOverview(FORMAT.DOT);
+		assertTrue(overview.contains("partition_2 -> partition_1 [label=\"1\""));
+		assertTrue(diagram.getOverview(FORMAT.PLANT).contains("partition_2 }|--|| partition_1 : 1\n"));
+	}
+
+	private static int partitionOf(PartitionedDiagram diagram, Table table) {
+		for (int i = 0; i < diagram.size(); i++) {
+			if (diagram.getTables(i).contains(table)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,80 @@
+package com.skuehnel.dbvisualizer.visualize;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.FORMAT;
+import com.skuehnel.dbvisualizer.util.InvalidParamException;
+import com.skuehnel.dbvisualizer.util.TestDBGenerator;
+import org.junit.jupiter.api.Test;
+
+import static com.skuehnel.dbvisualizer.domain.TableFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class StreamingVisualizerTest {
+
+	private static TestDBGenerator testDBGenerator = new TestDBGenerator();
+
+	@Test
+	public void streamedDiagramIsIdenticalTest() throws InvalidParamException, IOException {
+		List<Table> tables = testDBGenerator.generateRandomTables(100,10);
+		Visualizer v = new Visualizer(tables);
+		assertEquals(v.getDotRepresentation(), stream(v, FORMAT.DOT, tables, tables));
+		assertEquals(v.getPlantRepresentation(), stream(v, FORMAT.PLANT, tables, tables));
+		v.setEntitiesOnly(true);
+		assertEquals(v.getDotRepresentation(), stream(v, FORMAT.DOT, tables, tables));
+	}
+
+	@Test
+	public void forwardReferencesTest() throws IOException {
+		// EMP is published before the tables it references, BOSS is not published at all
+		Table dept = table("DEPT");
+		Table boss = table("BOSS");
+		Table emp = table("EMP", dept, boss);
+		List<Table> tables = List.of(emp, dept, boss);
+		Visualizer v = new Visualizer(tables);
+		assertEquals(v.getDotRepresentation(), stream(v, FORMAT.DOT, List.of(emp, dept), tables));
+		assertEquals(v.getPlantRepresentation(), stream(v, FORMAT.PLANT, List.of(emp), tables));
+	}
+
+	@Test
+	public void failedRetrievalTest() {
+		Table dept = table("DEPT");
+		Visualizer v = new Visualizer(List.of(dept));
+		StringWriter writer = new StringWriter();
+		StreamingVisualizer streamingVisualizer = new StreamingVisualizer(v, FORMAT.DOT, writer);
+		IllegalStateException failure = new IllegalStateException("retrieval failed");
+		try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+			SubmissionPublisher<Table> publisher = new SubmissionPublisher<>(executor, Flow.defaultBufferSize());
+			publisher.subscribe(streamingVisualizer);
+			publisher.submit(dept);
+			publisher.closeExceptionally(failure);
+			IOException e = assertThrows(IOException.class, () -> streamingVisualizer.finish(List.of(dept)));
+			assertSame(failure, e.getCause());
+		}
+	}
+
+	private static String stream(Visualizer v, FORMAT format, List<Table> publishedTables, List<Table> tables)
+			throws IOException {
+		StringWriter writer = new StringWriter();
+		StreamingVisualizer streamingVisualizer = new StreamingVisualizer(v, format, writer);
+		try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+			SubmissionPublisher<Table> publisher = new SubmissionPublisher<>(executor, 4);
+			publisher.subscribe(streamingVisualizer);
+			for (Table table : publishedTables) {
+				publisher.submit(table);
+			}
+			publisher.close();
+			streamingVisualizer.finish(tables);
+		}
+		return writer.toString();
+	}
+}
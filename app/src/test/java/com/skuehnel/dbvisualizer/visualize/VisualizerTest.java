@@ -1,6 +1,8 @@
 package com.skuehnel.dbvisualizer.visualize;
 
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -15,6 +17,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 public class VisualizerTest {
@@ -78,6 +81,39 @@ public class VisualizerTest {
 		assertNotNull(dot);
 	}
 
+	@Test
+	public void parallelRenderingIsIdenticalTest() throws InvalidParamException {
+		List<Table> tables = testDBGenerator.generateRandomTables(500,20);
+		Visualizer sequential = new Visualizer(tables);
+		Visualizer parallel = new Visualizer(tables);
+		parallel.setParallelism(4);
+		assertEquals(sequential.getDotRepresentation(), parallel.getDotRepresentation());
+		assertEquals(sequential.getPlantRepresentation(), parallel.getPlantRepresentation());
+		sequential.setEntitiesOnly(true);
+		parallel.setEntitiesOnly(true);
+		assertEquals(sequential.getDotRepresentation(), parallel.getDotRepresentation());
+	}
+
+	@Test
+	public void collidingNodeIdsTest() {
+		Table dotted = new Table("A.B");
+		dotted.setColumns(new ArrayList<>());
+		Table underscored = new Table("a_b");
+		Column fk = new Column("FK","NUMBER");
+		fk.setForeignKeyTable(dotted);
+		List<Column> columns = new ArrayList<>();
+		columns.add(fk);
+		underscored.setColumns(columns);
+		Visualizer v = new Visualizer(new ArrayList<Table>());
+		v.addTable(dotted);
+		v.addTable(underscored);
+		String dot = v.getDotRepresentation();
+		assertTrue(dot.contains("a_b [label="));
+		assertTrue(dot.contains("a_b_2 [label="));
+		assertTrue(dot.contains("a_b_2:p0 -> a_b:p0"));
+		assertTrue(v.getPlantRepresentation().contains("a_b_2 }|--|| a_b\n"));
+	}
+
 	@Test
 	public void testMakeDotName() {
 		assertEquals("test_abc_123", Visualizer.makeDotName("test.abc$123"));
@@ -86,4 +122,16 @@ public class VisualizerTest {
 		assertEquals("test_abc_123", Visualizer.makeDotName("test.abc_123"));
 	}
 
+	@Test
+	public void writtenRepresentationIsIdenticalTest() throws InvalidParamException, IOException {
+		List<Table> tables = testDBGenerator.generateRandomTables(50,10);
+		Visualizer v = new Visualizer(tables);
+		StringWriter dot = new StringWriter();
+		v.writeDotRepresentation(dot);
+		assertEquals(v.getDotRepresentation(), dot.toString());
+		StringWriter plant = new StringWriter();
+		v.writePlantRepresentation(plant);
+		assertEquals(v.getPlantRepresentation(), plant.toString());
+	}
+
 }
@@ -0,0 +1,72 @@
+package com.skuehnel.dbvisualizer.benchmark;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.skuehnel.dbvisualizer.domain.Table;
+import com.skuehnel.dbvisualizer.util.InvalidParamException;
+import com.skuehnel.dbvisualizer.util.TestDBGenerator;
+import com.skuehnel.dbvisualizer.visualize.Visualizer;
+
+/**
+ * Time and allocation of rendering a diagram, per table. The diagram is written to a null writer, so only
+ * the rendering is measured; the node ids are computed again for each diagram.
+ * <p>
+ * Run with the GC profiler to get the allocation per table (gc.alloc.rate.norm):
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar RenderBenchmark -prof gc
+ * </pre>
+ *
+ * @author Stefan Kuehnel
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(RenderBenchmark.TABLES)
+public class RenderBenchmark {
+
+	static final int TABLES = 1000;
+
+	@Param({"false", "true"})
+	private boolean entitiesOnly;
+
+	private List<Table> tables;
+	private Visualizer visualizer;
+
+	@Setup
+	public void setUp() throws InvalidParamException {
+		tables = new TestDBGenerator().generateRandomTables(TABLES, 10);
+		visualizer = new Visualizer(tables);
+		visualizer.setEntitiesOnly(entitiesOnly);
+	}
+
+	@Benchmark
+	public void dot() throws IOException {
+		visualizer.setTables(tables);
+		visualizer.writeDotRepresentation(Writer.nullWriter());
+	}
+
+	@Benchmark
+	public void plant() throws IOException {
+		visualizer.setTables(tables);
+		visualizer.writePlantRepresentation(Writer.nullWriter());
+	}
+}
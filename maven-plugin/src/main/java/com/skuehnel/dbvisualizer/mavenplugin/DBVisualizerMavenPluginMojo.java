@@ -60,6 +60,57 @@ public class DBVisualizerMavenPluginMojo extends AbstractMojo {
     @Parameter(property = "filter")
     String filter;
 
+    @Parameter(property = "retrieval-mode")
+    String retrievalMode;
+
+    @Parameter(property = "parallelism")
+    int parallelism = 4;
+
+    @Parameter(property = "retrieval-timeout")
+    int retrievalTimeout = 0;
+
+    @Parameter(property = "include-system-schemas")
+    boolean includeSystemSchemas = false;
+
+    @Parameter(property = "cache-dir")
+    String cacheDirectory;
+
+    @Parameter(property = "cache-ttl")
+    long cacheTimeToLive = 1440;
+
+    @Parameter(property = "force-refresh")
+    boolean forceRefresh = false;
+
+    @Parameter(property = "seed-tables")
+    String seedTables;
+
+    @Parameter(property = "crawl-depth")
+    int crawlDepth = 1;
+
+    @Parameter(property = "follow-exported-keys")
+    boolean followExportedKeys = false;
+
+    @Parameter(property = "streaming")
+    boolean streaming = false;
+
+    @Parameter(property = "metadata-statistics")
+    boolean metadataStatistics = false;
+
+    @Parameter(property = "compact-model")
+    boolean compactModel = false;
+
+    @Parameter(property = "render-threads")
+    int renderThreads = 1;
+
+    @Parameter(property = "render-cache-dir")
+    String renderCacheDirectory;
+
+    @Parameter(property = "render-cache-size")
+    long renderCacheSize = 100;
+
+    @Parameter(property = "partition-size")
+    int partitionSize = 0;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
 
@@ -77,6 +128,23 @@ public class DBVisualizerMavenPluginMojo extends AbstractMojo {
                 .withCatalog(catalog)
                 .withDBDialect(dialect)
                 .withFilter(filter)
+                .withRetrievalMode(retrievalMode)
+                .withParallelism(parallelism)
+                .withRetrievalTimeout(retrievalTimeout)
+                .withIncludeSystemSchemas(includeSystemSchemas)
+                .withCacheDirectory(cacheDirectory)
+                .withCacheTimeToLive(cacheTimeToLive)
+                .withForceRefresh(forceRefresh)
+                .withSeedTables(seedTables)
+                .withCrawlDepth(crawlDepth)
+                .withFollowExportedKeys(followExportedKeys)
+                .withStreaming(streaming)
+                .withMetadataStatistics(metadataStatistics)
+                .withCompactModel(compactModel)
+                .withRenderThreads(renderThreads)
+                .withRenderCacheDirectory(renderCacheDirectory)
+                .withRenderCacheSize(renderCacheSize)
+                .withPartitionSize(partitionSize)
                 .build();
         try {
             dbVisualizer.execute();